@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Prueba de humo del binario nativo (target/reto) contra DynamoDB Local.
+# Requiere: docker, aws cli, curl y jq. Uso: scripts/native-smoke.sh [ruta-al-binario]
+# Arranca DynamoDB Local, crea la tabla de órdenes con sus índices (estado y cliente) y la de
+# contadores, levanta el binario en modo REACTIVE y ejercita GET /orders, POST /orders,
+# GET /orders/{id}, PUT /orders, GET /orders?customer= y GET /orders/stats.
+set -euo pipefail
+
+BINARY="${1:-target/reto}"
+PORT="${PORT:-8080}"
+DDB_PORT="${DDB_PORT:-8000}"
+TABLE="orders-table-smoke"
+STATS_TABLE="orders-stats-smoke"
+BASE="http://localhost:${PORT}"
+ENDPOINT="http://localhost:${DDB_PORT}"
+
+export AWS_ACCESS_KEY_ID=local AWS_SECRET_ACCESS_KEY=local AWS_REGION=us-east-1
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "${APP_PID}" 2>/dev/null || true
+  docker rm -f reto-ddb-smoke >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+fail() { echo "FALLO: $*" >&2; exit 1; }
+
+# expect <método> <ruta> <status esperado> [body]: imprime el cuerpo de la respuesta
+expect() {
+  local method="$1" path="$2" expected="$3" body="${4:-}" out status
+  out=$(mktemp)
+  if [[ -n "${body}" ]]; then
+    status=$(curl -s -o "${out}" -w '%{http_code}' -X "${method}" -H 'Content-Type: application/json' -d "${body}" "${BASE}${path}")
+  else
+    status=$(curl -s -o "${out}" -w '%{http_code}' -X "${method}" "${BASE}${path}")
+  fi
+  [[ "${status}" == "${expected}" ]] || fail "${method} ${path} -> ${status} (esperado ${expected}): $(cat "${out}")"
+  echo "ok ${method} ${path} -> ${status}" >&2
+  cat "${out}"
+}
+
+[[ -x "${BINARY}" ]] || fail "no existe ${BINARY}; compilar con: mvn -Pnative -DskipTests package"
+
+docker run -d --rm --name reto-ddb-smoke -p "${DDB_PORT}:8000" amazon/dynamodb-local >/dev/null
+for _ in $(seq 30); do
+  aws dynamodb list-tables --endpoint-url "${ENDPOINT}" >/dev/null 2>&1 && break
+  sleep 1
+done
+
+aws dynamodb create-table --endpoint-url "${ENDPOINT}" --table-name "${TABLE}" \
+  --billing-mode PAY_PER_REQUEST \
+  --attribute-definitions AttributeName=orderId,AttributeType=S AttributeName=status,AttributeType=S \
+    AttributeName=customerId,AttributeType=S AttributeName=orderDate,AttributeType=S \
+  --key-schema AttributeName=orderId,KeyType=HASH \
+  --global-secondary-indexes \
+    'IndexName=status-orderDate-index,KeySchema=[{AttributeName=status,KeyType=HASH},{AttributeName=orderDate,KeyType=RANGE}],Projection={ProjectionType=ALL}' \
+    'IndexName=customerId-orderDate-index,KeySchema=[{AttributeName=customerId,KeyType=HASH},{AttributeName=orderDate,KeyType=RANGE}],Projection={ProjectionType=INCLUDE,NonKeyAttributes=[version,address,orderUpdate,status,totalAmount,itemCount,lineCount]}' \
+  >/dev/null
+
+aws dynamodb create-table --endpoint-url "${ENDPOINT}" --table-name "${STATS_TABLE}" \
+  --billing-mode PAY_PER_REQUEST \
+  --attribute-definitions AttributeName=pk,AttributeType=S AttributeName=sk,AttributeType=S \
+  --key-schema AttributeName=pk,KeyType=HASH AttributeName=sk,KeyType=RANGE \
+  >/dev/null
+
+START=$(date +%s%N)
+DYNAMODB_TABLE="${TABLE}" DYNAMODB_STATS_TABLE="${STATS_TABLE}" DYNAMODB_STATS_FLUSH_MS=200 \
+  DYNAMODB_ENDPOINT="${ENDPOINT}" SERVER_PORT="${PORT}" \
+  SPRING_MAIN_WEB_APPLICATION_TYPE=REACTIVE "${BINARY}" > target/native-smoke.log 2>&1 &
+APP_PID=$!
+for _ in $(seq 100); do
+  curl -s -o /dev/null "${BASE}/orders" && break
+  kill -0 "${APP_PID}" 2>/dev/null || fail "el binario terminó al arrancar (ver target/native-smoke.log)"
+  sleep 0.1
+done
+echo "arranque: $(( ($(date +%s%N) - START) / 1000000 )) ms" >&2
+
+ID=$(expect POST /orders 201 '{"customer":"smoke","address":"Av. 1","items":[{"productId":"p-1","quantity":2,"price":10.5}]}' | jq -r .id)
+[[ -n "${ID}" && "${ID}" != "null" ]] || fail "POST /orders no devolvió id"
+
+expect GET "/orders/${ID}" 200 | jq -e --arg id "${ID}" '.orderId == $id' >/dev/null || fail "GET /orders/${ID} devolvió otra orden"
+expect PUT /orders 202 "{\"id\":\"${ID}\",\"customer\":\"smoke-2\",\"address\":\"Av. 2\"}" >/dev/null
+expect GET "/orders/${ID}" 200 | jq -e '.customerId == "smoke-2"' >/dev/null || fail "PUT /orders no persistió el cambio"
+expect GET /orders 200 >/dev/null
+expect POST /orders 400 '{"customer":"","address":"x","items":[]}' >/dev/null
+
+expect GET "/orders?customer=smoke-2&order=asc" 200 | jq -e --arg id "${ID}" '.items | any(.orderId == $id)' >/dev/null \
+  || fail "GET /orders?customer= no devolvió la orden"
+expect GET "/orders?customer=%20" 400 >/dev/null
+
+# Los contadores se envían cada DYNAMODB_STATS_FLUSH_MS
+for _ in $(seq 20); do
+  expect GET /orders/stats 200 | jq -e '.byStatus.REGISTRADO >= 1' >/dev/null && break
+  sleep 0.5
+done
+expect GET /orders/stats 200 | jq -e '.byStatus.REGISTRADO >= 1' >/dev/null || fail "GET /orders/stats no contó la orden"
+expect GET "/orders/stats?from=2025-01-01&to=ayer" 400 >/dev/null
+
+echo "prueba de humo nativa OK" >&2
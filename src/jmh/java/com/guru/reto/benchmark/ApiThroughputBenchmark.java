@@ -0,0 +1,102 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.RetoApplication;
+import com.guru.reto.infrastructure.in.rest.dto.OrderItemReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Toda la pila WebFlux (Netty + Router + Handler + puertos) sobre el adaptador en memoria
+ * (perfil 'local'), sin AWS y con SEED órdenes precargadas deterministas. El límite de
+ * concurrencia se desactiva para medir sin rechazos (429).
+ * Cada operación es una solicitud HTTP con CONCURRENCY en vuelo; una respuesta que no sea 2xx
+ * corta la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ApiThroughputBenchmark {
+
+    private static final int SEED = 100_000;
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 64;
+    private static final OrderRegisterReq REGISTER = new OrderRegisterReq("customer-1", "Calle 1",
+            List.of(new OrderItemReq("product-1", 2, 10.5)));
+
+    private ConfigurableApplicationContext context;
+    private WebClient client;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RetoApplication.class)
+                .profiles("local")
+                .run("--server.port=0",
+                        "--spring.properties.memory_seed_orders=" + SEED,
+                        "--spring.properties.limiter_enabled=false");
+        client = context.getBean(WebClient.Builder.class)
+                .baseUrl("http://localhost:" + context.getEnvironment().getProperty("local.server.port"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public Long getById() {
+        int offset = next;
+        next = (next + REQUESTS) % SEED;
+        return run(i -> client.get().uri("/orders/seed-{id}", String.format("%08d", (offset + i) % SEED)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public Long register() {
+        return run(i -> client.post().uri("/orders").bodyValue(REGISTER));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public Long list() {
+        return run(i -> client.get().uri("/orders?size=20"));
+    }
+
+    private static Long run(IntFunction<WebClient.RequestHeadersSpec<?>> request) {
+        return Flux.range(0, REQUESTS)
+                .flatMap(i -> request.apply(i).exchangeToMono(res -> res.releaseBody().thenReturn(res.statusCode())),
+                        CONCURRENCY)
+                .doOnNext(status -> {
+                    if (!status.is2xxSuccessful()) {
+                        throw new IllegalStateException("Respuesta " + status.value());
+                    }
+                })
+                .count()
+                .block();
+    }
+}
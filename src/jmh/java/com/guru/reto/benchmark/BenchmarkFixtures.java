@@ -0,0 +1,72 @@
+package com.guru.reto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.in.rest.dto.OrderItemReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Datos compartidos por los benchmarks: una orden con ITEMS líneas de detalle,
+ * del tamaño típico de una solicitud real.
+ */
+@UtilityClass
+class BenchmarkFixtures {
+
+    static final int ITEMS = 5;
+
+    /**
+     * ObjectMapper con los mismos módulos que registra Spring Boot (JavaTimeModule, etc.).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static OrderRegisterReq registerReq() {
+        return registerReq(ITEMS);
+    }
+
+    static OrderRegisterReq registerReq(int items) {
+        return OrderRegisterReq.builder()
+                .customer("customer-0001")
+                .address("Av. Siempre Viva 742")
+                .items(IntStream.range(0, items)
+                        .mapToObj(i -> OrderItemReq.builder()
+                                .productId("product-" + i)
+                                .quantity(i + 1)
+                                .price(10.5 * (i + 1))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    static OrderUpdateReq updateReq(String id) {
+        return OrderUpdateReq.builder()
+                .id(id)
+                .customer("customer-0002")
+                .address("Calle Falsa 123")
+                .build();
+    }
+
+    /**
+     * Orden tal como queda guardada (con versión y estado).
+     */
+    static Order storedOrder() {
+        return storedOrder(ITEMS);
+    }
+
+    static Order storedOrder(int items) {
+        return Order.fromRegister(registerReq(items)).toBuilder()
+                .version(1L)
+                .build();
+    }
+
+    static List<Order> storedOrders(int count) {
+        return IntStream.range(0, count).mapToObj(i -> storedOrder()).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
+import com.guru.reto.infrastructure.out.persistence.OrderAdapter;
+import com.guru.reto.infrastructure.out.persistence.OrderCache;
+import com.guru.reto.infrastructure.out.persistence.ReadHedging;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderAdapter.findId con READS lecturas y CONCURRENCY en vuelo a la vez, sin caché.
+ * Cada getItem simulado se completa en un hilo 'parallel' tras READ_LATENCY, como el hilo
+ * del SDK que completa la respuesta; el resultado es el tiempo por lectura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConcurrentFindIdBenchmark {
+
+    private static final int READS = 10_000;
+    private static final int CONCURRENCY = 1_000;
+    private static final Duration READ_LATENCY = Duration.ofMillis(2);
+
+    private OrderAdapter orderAdapter;
+
+    @Setup
+    public void setUp() {
+        orderAdapter = new OrderAdapter(null, simulatedTable(), null, null,
+                new OrderCache(false, 100, 60, 0),
+                new DynamoDbResilience(4, 25, 1000, 0.1, 10, 20, 5000, new SimpleMeterRegistry()),
+                new ReadHedging(false, 0.95, 5, 0.05, 10, new SimpleMeterRegistry()), null, 1, 1, false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READS)
+    public Long findId() {
+        return Flux.range(0, READS)
+                .flatMap(i -> orderAdapter.findId("order-" + i), CONCURRENCY)
+                .count()
+                .block();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DynamoDbAsyncTable<Order> simulatedTable() {
+        DynamoDbAsyncTable<Order> table = mock(DynamoDbAsyncTable.class);
+        Order order = Order.builder().orderId("order").build();
+        when(table.getItem(any(Key.class)))
+                .thenAnswer(invocation -> Mono.delay(READ_LATENCY).thenReturn(order).toFuture());
+        return table;
+    }
+}
@@ -0,0 +1,94 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.infrastructure.out.configuration.DynamoDbClientProperties;
+import com.guru.reto.infrastructure.out.configuration.DynamoDbClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motores HTTP del cliente de DynamoDB (NETTY y CRT) armados con DynamoDbClients, igual que en
+ * DynamoDbConfig, contra un endpoint local que responde GetItem como DynamoDB.
+ * Cada operación es un GetItem con CONCURRENCY en vuelo. Sirve para elegir el motor y el pool
+ * según la memoria (y vCPU) de la Lambda: correrlo con los mismos límites de CPU
+ * (taskset / docker --cpus) que la función.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HttpEngineBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 128;
+    private static final String GET_ITEM_RESPONSE = "{\"Item\":{\"orderId\":{\"S\":\"1\"},\"status\":{\"S\":\"REGISTRADO\"}}}";
+
+    @Param({"NETTY", "CRT"})
+    private DynamoDbClientProperties.Engine engine;
+
+    private DisposableServer server;
+    private DynamoDbAsyncClient client;
+    private GetItemRequest request;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/", (req, res) -> req.receive().then()
+                        .then(res.header("Content-Type", "application/x-amz-json-1.0")
+                                .sendString(Mono.just(GET_ITEM_RESPONSE))
+                                .then())))
+                .bindNow();
+        DynamoDbClientProperties properties = new DynamoDbClientProperties(engine, CONCURRENCY, 10_000,
+                Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofSeconds(60),
+                Duration.ofSeconds(10), Duration.ofSeconds(10), true, 0,
+                "http://localhost:" + server.port());
+        client = DynamoDbClients.builder(properties, "us-east-1", true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .build();
+        request = GetItemRequest.builder()
+                .tableName("orders-table-bench")
+                .key(Map.of("orderId", AttributeValue.fromS("1")))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public Long getItem() {
+        return Flux.range(0, REQUESTS)
+                .flatMap(i -> Mono.fromCompletionStage(() -> client.getItem(request)), CONCURRENCY)
+                .count()
+                .block();
+    }
+}
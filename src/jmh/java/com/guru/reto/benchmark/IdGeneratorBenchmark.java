@@ -0,0 +1,56 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.UlidIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación de IDs de orden: UUID v4 sin guiones (Constants.generateId, el método anterior)
+ * contra ULID (UlidIdGenerator), con un hilo y con 8 hilos a la vez para ver la contención
+ * del SecureRandom compartido de UUID.randomUUID frente al SecureRandom DRBG por hilo del ULID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IdGeneratorBenchmark {
+
+    private final UlidIdGenerator ulid = UlidIdGenerator.INSTANCE;
+
+    @Benchmark
+    @Threads(1)
+    public String uuid() {
+        return Constants.generateId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String ulid() {
+        return ulid.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return Constants.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String ulidContended() {
+        return ulid.generate();
+    }
+}
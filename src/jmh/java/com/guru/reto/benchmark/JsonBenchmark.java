@@ -0,0 +1,66 @@
+package com.guru.reto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialización con Jackson de los cuerpos de la API: lectura de OrderRegisterReq
+ * (POST /orders) y escritura de Order (GET /orders/{id}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+
+    private ObjectReader registerReader;
+    private ObjectWriter orderWriter;
+    private ObjectReader orderReader;
+    private byte[] registerJson;
+    private byte[] orderJson;
+    private Order order;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        registerReader = objectMapper.readerFor(OrderRegisterReq.class);
+        orderReader = objectMapper.readerFor(Order.class);
+        orderWriter = objectMapper.writerFor(Order.class);
+        order = BenchmarkFixtures.storedOrder();
+        registerJson = objectMapper.writeValueAsBytes(BenchmarkFixtures.registerReq());
+        orderJson = orderWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderRegisterReq readRegisterReq() throws IOException {
+        return registerReader.readValue(registerJson);
+    }
+
+    @Benchmark
+    public byte[] writeOrder() throws IOException {
+        return orderWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order readOrder() throws IOException {
+        return orderReader.readValue(orderJson);
+    }
+}
@@ -0,0 +1,62 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
+import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import com.guru.reto.infrastructure.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeos DTO <-> dominio y generación de IDs (camino de cada POST/PUT /orders).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappingBenchmark {
+
+    private OrderRegisterReq registerReq;
+    private OrderUpdateReq updateReq;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        registerReq = BenchmarkFixtures.registerReq();
+        updateReq = BenchmarkFixtures.updateReq("id-1");
+        order = BenchmarkFixtures.storedOrder();
+    }
+
+    @Benchmark
+    public Order fromRegister() {
+        return Order.fromRegister(registerReq);
+    }
+
+    @Benchmark
+    public Order fromUpdate() {
+        return Order.fromUpdate(updateReq);
+    }
+
+    @Benchmark
+    public OrderResponse responseFrom() {
+        return OrderResponse.from(order);
+    }
+
+    @Benchmark
+    public String generateId() {
+        return Constants.generateId();
+    }
+}
@@ -0,0 +1,144 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.application.in.adapter.OrderMutationAdapter;
+import com.guru.reto.application.in.adapter.OrderSearchAdapter;
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
+import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
+import com.guru.reto.infrastructure.out.persistence.OrderAdapter;
+import com.guru.reto.infrastructure.out.persistence.OrderCache;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.out.persistence.ReadHedging;
+import com.guru.reto.infrastructure.util.UlidIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cadenas reactivas completas de la aplicación (adaptador de aplicación + OrderAdapter +
+ * cliente Enhanced) contra un DynamoDbAsyncClient simulado que responde al instante.
+ * Mide el costo propio del servicio por solicitud, sin la red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderPipelineBenchmark {
+
+    private static final String TABLE = "orders-table-bench";
+
+    @Param({"static", "bean"})
+    private String schemaType;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private OrderMutationAdapter orderMutationAdapter;
+    private OrderSearchAdapter orderSearchAdapter;
+    private OrderRegisterReq registerReq;
+    private OrderUpdateReq updateReq;
+    private String storedId;
+
+    @Setup
+    public void setUp() {
+        TableSchema<Order> schema = OrderSchemas.order(schemaType);
+        Order stored = BenchmarkFixtures.storedOrder();
+        StubDynamoDbAsyncClient client = new StubDynamoDbAsyncClient(schema.itemToMap(stored, true));
+        DynamoDbAsyncTable<Order> table = DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(client)
+                .build()
+                .table(TABLE, schema);
+
+        OrderCache orderCache = new OrderCache(cacheEnabled, 10_000, 60, 0);
+        DynamoDbResilience resilience = new DynamoDbResilience(4, 25, 1000, 0.1, 10, 20, 5000, new SimpleMeterRegistry());
+        OrderAdapter orderAdapter = new OrderAdapter(client, table, null, null, orderCache, resilience,
+                new ReadHedging(false, 0.95, 5, 0.05, 10, new SimpleMeterRegistry()),
+                new OrderStatsCounters(client, resilience, TABLE + "-stats", 8, 0, new SimpleMeterRegistry()), 1, 1, false);
+        orderMutationAdapter = new OrderMutationAdapter(orderAdapter, UlidIdGenerator.INSTANCE);
+        orderSearchAdapter = new OrderSearchAdapter(orderAdapter);
+        registerReq = BenchmarkFixtures.registerReq();
+        storedId = stored.getOrderId();
+        updateReq = BenchmarkFixtures.updateReq(storedId);
+    }
+
+    @Benchmark
+    public OrderResponse registerOrder() {
+        return orderMutationAdapter.registerOrder(registerReq).block();
+    }
+
+    @Benchmark
+    public OrderResponse updateOrder() {
+        return orderMutationAdapter.updateOrder(updateReq).block();
+    }
+
+    @Benchmark
+    public Order findId() {
+        return orderSearchAdapter.findId(storedId).block();
+    }
+
+    /**
+     * Cliente de bajo nivel que responde con futuros ya completados: PutItem vacío y
+     * GetItem/UpdateItem con la orden guardada.
+     */
+    static final class StubDynamoDbAsyncClient implements DynamoDbAsyncClient {
+
+        private final Map<String, AttributeValue> item;
+
+        StubDynamoDbAsyncClient(Map<String, AttributeValue> item) {
+            this.item = item;
+        }
+
+        @Override
+        public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+            return CompletableFuture.completedFuture(PutItemResponse.builder().build());
+        }
+
+        @Override
+        public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+            return CompletableFuture.completedFuture(GetItemResponse.builder().item(item).build());
+        }
+
+        @Override
+        public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+            return CompletableFuture.completedFuture(UpdateItemResponse.builder().attributes(item).build());
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
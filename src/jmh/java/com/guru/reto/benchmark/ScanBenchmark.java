@@ -0,0 +1,82 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.OrderAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PagePublisher;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scan paralelo de OrderAdapter.scanAll con 1, 2, 4 y 8 segmentos sobre una tabla simulada de
+ * TOTAL_PAGES páginas en la que cada página tarda PAGE_LATENCY (una partición entrega sus páginas
+ * de a una). Cada operación es una lectura completa de la tabla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScanBenchmark {
+
+    private static final int TOTAL_PAGES = 32;
+    private static final int ITEMS_PER_PAGE = 100;
+    private static final Duration PAGE_LATENCY = Duration.ofMillis(5);
+
+    @Param({"1", "2", "4", "8"})
+    private int segments;
+
+    private OrderAdapter orderAdapter;
+
+    @Setup
+    public void setUp() {
+        orderAdapter = new OrderAdapter(null, simulatedTable(), null, null, null, null, null, null, segments, segments, false);
+    }
+
+    @Benchmark
+    public Long scanAll() {
+        return orderAdapter.scanAll().count().block();
+    }
+
+    /**
+     * Tabla simulada: cada segmento entrega su parte de las páginas de forma secuencial.
+     */
+    @SuppressWarnings("unchecked")
+    private static DynamoDbAsyncTable<Order> simulatedTable() {
+        List<Order> pageItems = IntStream.range(0, ITEMS_PER_PAGE)
+                .mapToObj(i -> Order.builder().orderId("order-" + i).build())
+                .toList();
+        DynamoDbAsyncTable<Order> table = mock(DynamoDbAsyncTable.class);
+        when(table.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+            ScanEnhancedRequest request = invocation.getArgument(0);
+            Flux<Page<Order>> segment = Flux.range(0, TOTAL_PAGES / request.totalSegments())
+                    .concatMap(i -> Mono.delay(PAGE_LATENCY).thenReturn(Page.create(pageItems)));
+            return PagePublisher.create(SdkPublisher.adapt(segment));
+        });
+        return table;
+    }
+}
@@ -0,0 +1,60 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión ítem <-> mapa de atributos con el esquema estático, el estático con items en binario
+ * y el de reflexión (db_table_schema: static | compact | bean), con órdenes de 'lines' líneas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TableSchemaBenchmark {
+
+    @Param({"static", "compact", "bean"})
+    private String schemaType;
+
+    @Param({"5", "100"})
+    private int lines;
+
+    private TableSchema<Order> schema;
+    private Order order;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setUp() {
+        schema = OrderSchemas.order(schemaType);
+        order = BenchmarkFixtures.storedOrder(lines);
+        item = schema.itemToMap(order, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> itemToMap() {
+        return schema.itemToMap(order, true);
+    }
+
+    @Benchmark
+    public Order mapToItem() {
+        return schema.mapToItem(item);
+    }
+}
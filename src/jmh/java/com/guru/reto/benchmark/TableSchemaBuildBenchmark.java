@@ -0,0 +1,37 @@
+package com.guru.reto.benchmark;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de construir el esquema de Order en una JVM recién iniciada, como en un cold start:
+ * el estático de OrderSchemas (se arma al inicializar la clase) contra TableSchema.fromBean
+ * (reflexión). Cada fork mide una sola construcción.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TableSchemaBuildBenchmark {
+
+    @Benchmark
+    public TableSchema<Order> staticSchema() {
+        return OrderSchemas.ORDER;
+    }
+
+    @Benchmark
+    public TableSchema<Order> beanSchema() {
+        return TableSchema.fromBean(Order.class);
+    }
+}
@@ -3,8 +3,10 @@ package com.guru.reto;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(RetoRuntimeHints.class)
 @ComponentScan({"com.guru.reto","com.guru.reto.infrastructure","com.guru.reto.domain","com.guru.reto.application"})
 public class RetoApplication {
 
@@ -0,0 +1,79 @@
+package com.guru.reto;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBatchGetReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
+import com.guru.reto.infrastructure.in.rest.dto.OrderItemReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
+import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import com.guru.reto.infrastructure.out.configuration.DynamoDbClientProperties;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * Metadatos para la imagen nativa de GraalVM (perfil maven 'native').
+ * Spring AOT no ve los tipos que se (de)serializan en los endpoints funcionales
+ * (bodyToMono/bodyValue) ni los que el SDK de AWS carga por nombre, así que se declaran aquí.
+ */
+public class RetoRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Tipos que Jackson lee o escribe en la API REST y en la función de Lambda.
+     */
+    private static final Class<?>[] JSON_TYPES = {
+            OrderRegisterReq.class, OrderItemReq.class, OrderUpdateReq.class, OrderBatchGetReq.class,
+            OrderResponse.class, OrderBulkResult.class, ErrorResponse.class,
+            Order.class, OrderItem.class, OrderPage.class, OrderStats.class, OrderStats.Day.class,
+            APIGatewayV2HTTPEvent.class, APIGatewayV2HTTPResponse.class
+    };
+
+    /**
+     * Interceptores y servicios del SDK que se instancian por reflexión al construir el cliente.
+     */
+    private static final String[] SDK_TYPES = {
+            "software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient",
+            "software.amazon.awssdk.services.dynamodb.DefaultDynamoDbAsyncClient",
+            "software.amazon.awssdk.services.dynamodb.endpoints.internal.DynamoDbResolveEndpointInterceptor",
+            "software.amazon.awssdk.services.dynamodb.endpoints.internal.DynamoDbRequestSetEndpointInterceptor",
+            "software.amazon.awssdk.services.dynamodb.internal.DynamoDbHttpConfigurationOptions",
+            "software.amazon.awssdk.enhanced.dynamodb.internal.client.DefaultDynamoDbAsyncTable",
+            "software.amazon.awssdk.enhanced.dynamodb.extensions.VersionedRecordExtension",
+            "software.amazon.awssdk.http.nio.netty.NettySdkAsyncHttpService",
+            "software.amazon.awssdk.http.crt.AwsCrtSdkHttpService"
+    };
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindings.registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        // db_table_schema: bean genera el esquema leyendo getters/setters y anotaciones
+        Stream.of(Order.class, OrderItem.class).forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        hints.reflection().registerType(DynamoDbClientProperties.class, MemberCategory.values());
+        Stream.of(SDK_TYPES).forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        hints.resources()
+                .registerPattern("application.yml")
+                .registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors")
+                .registerPattern("software/amazon/awssdk/services/dynamodb/execution.interceptors")
+                .registerPattern("software/amazon/awssdk/enhanced/dynamodb/execution.interceptors")
+                .registerPattern("software/amazon/awssdk/**/*.json")
+                .registerPattern("META-INF/services/software.amazon.awssdk.http.async.SdkAsyncHttpService");
+    }
+}
@@ -2,14 +2,21 @@ package com.guru.reto.application.in.adapter;
 
 import com.guru.reto.application.in.port.OrderMutationPort;
 import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.IdGenerator;
 import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
 import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
 import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Adaptador de Aplicación (Implementación del Puerto de Entrada).
  * Orquesta el flujo de datos para los casos de uso de mutación.
@@ -19,6 +26,7 @@ import reactor.core.publisher.Mono;
 public class OrderMutationAdapter implements OrderMutationPort {
 
     private final OrderPort orderPort;
+    private final IdGenerator idGenerator;
 
     /**
      * Orquesta el registro de una orden:
@@ -29,11 +37,32 @@ public class OrderMutationAdapter implements OrderMutationPort {
      */
     public Mono<OrderResponse> registerOrder(OrderRegisterReq req) {
         return Mono.just(req)
-                .map(Order::fromRegister)
+                .map(r -> Order.fromRegister(r, idGenerator))
                 .flatMap(orderPort::create)
                 .map(OrderResponse::from);
     }
 
+    /**
+     * Orquesta el registro masivo de órdenes:
+     * 1. Mapea cada DTO -> Dominio (Order::fromRegister) recordando su posición.
+     * 2. Llama al puerto de persistencia (orderPort::createAll).
+     * 3. Mapea cada resultado -> OrderBulkResult con la posición original.
+     */
+    public Flux<OrderBulkResult> registerOrders(List<OrderRegisterReq> reqs) {
+        List<Order> orders = reqs.stream().map(r -> Order.fromRegister(r, idGenerator)).toList();
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            positions.put(orders.get(i).getOrderId(), i);
+        }
+        return orderPort.createAll(Flux.fromIterable(orders))
+                .map(result -> {
+                    int index = positions.get(result.order().getOrderId());
+                    return result.isWritten()
+                            ? OrderBulkResult.created(index, result.order())
+                            : OrderBulkResult.failed(index, result.order().getOrderId(), result.error());
+                });
+    }
+
     /**
      * Orquesta la actualización de una orden:
      * 1. Recibe el DTO.
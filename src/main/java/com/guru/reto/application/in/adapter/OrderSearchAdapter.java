@@ -2,11 +2,16 @@ package com.guru.reto.application.in.adapter;
 
 import com.guru.reto.application.in.port.OrderSearchPort;
 import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -19,7 +24,50 @@ public class OrderSearchAdapter implements OrderSearchPort {
         return orderPort.findAll();
     }
 
+    public Mono<OrderPage> findAll(int size, String token) {
+        return orderPort.findAll(size, token);
+    }
+
+    /**
+     * Página del historial de órdenes de un cliente.
+     */
+    public Mono<OrderPage> findByCustomer(CustomerOrdersQuery query) {
+        return orderPort.findByCustomer(query);
+    }
+
+    /**
+     * Órdenes registradas como flujo (sin armar la lista en memoria).
+     */
+    public Flux<Order> streamAll() {
+        return orderPort.streamAll();
+    }
+
+    /**
+     * Todas las órdenes de la tabla como flujo, para exportaciones.
+     */
+    public Flux<Order> exportAll() {
+        return orderPort.scanAll();
+    }
+
     public Mono<Order> findId(String id) {
         return orderPort.findId(id);
     }
+
+    /**
+     * Busca varias órdenes por ID y las devuelve en el orden solicitado,
+     * omitiendo las que no existen.
+     */
+    public Flux<Order> findIds(List<String> ids) {
+        return orderPort.findIds(ids)
+                .collectMap(Order::getOrderId)
+                .flatMapMany(found -> Flux.fromStream(ids.stream().distinct())
+                        .mapNotNull(found::get));
+    }
+
+    /**
+     * Órdenes por estado y por día de registro (UTC) entre 'from' y 'to', inclusive.
+     */
+    public Mono<OrderStats> findStats(LocalDate from, LocalDate to) {
+        return orderPort.findStats(from, to);
+    }
 }
@@ -1,10 +1,14 @@
 package com.guru.reto.application.in.port;
 
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
 import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
 import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Puerto de Entrada (Inbound Port) que define los casos de uso
  * para la mutación (escritura) de Órdenes.
@@ -19,6 +23,13 @@ public interface OrderMutationPort {
      */
     Mono<OrderResponse> registerOrder(OrderRegisterReq req);
 
+    /**
+     * Caso de uso: Registrar varias órdenes en una sola solicitud.
+     * @param reqs DTOs de registro (ya validados).
+     * @return El resultado de cada orden; 'index' es su posición en reqs.
+     */
+    Flux<OrderBulkResult> registerOrders(List<OrderRegisterReq> reqs);
+
     /**
      * Caso de uso: Actualizar una orden existente.
      * @param req DTO de actualización.
@@ -1,12 +1,23 @@
 package com.guru.reto.application.in.port;
 
+import com.guru.reto.domain.CustomerOrdersQuery;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface OrderSearchPort {
 
     Mono<List<Order>> findAll();
+    Mono<OrderPage> findAll(int size, String token);
+    Mono<OrderPage> findByCustomer(CustomerOrdersQuery query);
+    Flux<Order> streamAll();
+    Flux<Order> exportAll();
     Mono<Order> findId(String id);
+    Flux<Order> findIds(List<String> ids);
+    Mono<OrderStats> findStats(LocalDate from, LocalDate to);
 }
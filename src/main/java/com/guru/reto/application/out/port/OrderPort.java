@@ -1,13 +1,27 @@
 package com.guru.reto.application.out.port;
 
+import com.guru.reto.domain.CustomerOrdersQuery;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderWriteResult;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface OrderPort {
 
     Mono<List<Order>> findAll();
+    Mono<OrderPage> findAll(int size, String token);
+    Mono<OrderPage> findByCustomer(CustomerOrdersQuery query);
+    Flux<Order> streamAll();
+    Flux<Order> scanAll();
     Mono<Order> findId(String id);
+    Flux<Order> findIds(List<String> ids);
     Mono<Order> create(Order order);
+    Flux<OrderWriteResult> createAll(Flux<Order> orders);
     Mono<Order> update(Order order);
+    Mono<OrderStats> findStats(LocalDate from, LocalDate to);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.guru.reto.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Consulta del historial de órdenes de un cliente (GET /orders?customer=).
+ *
+ * @param customerId El cliente.
+ * @param from       Primer día de registro (UTC), o null sin límite inferior.
+ * @param to         Último día de registro (UTC, inclusive), o null sin límite superior.
+ * @param ascending  true de la más antigua a la más reciente; false al revés.
+ * @param size       Órdenes por página.
+ * @param token      El 'next' de la página anterior, o null para la primera.
+ */
+public record CustomerOrdersQuery(
+        String customerId,
+        LocalDate from,
+        LocalDate to,
+        boolean ascending,
+        int size,
+        String token
+) {
+}
@@ -0,0 +1,11 @@
+package com.guru.reto.domain;
+
+/**
+ * Genera los identificadores de las órdenes nuevas (ver Order.fromRegister).
+ * Los IDs deben ser únicos y, ordenados como texto, quedar en orden de creación.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String generate();
+}
@@ -3,10 +3,13 @@ package com.guru.reto.domain;
 import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
 import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.UlidIdGenerator;
 import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbVersionAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -31,13 +34,11 @@ public class Order implements Serializable {
     private String orderId;
     private Long version;
 
-    @Getter
     private String customerId;
 
     @Getter
     private String address;
 
-    @Getter
     private Instant orderDate;
 
     @Getter
@@ -46,9 +47,22 @@ public class Order implements Serializable {
     @Getter
     private List<OrderItem> items;
 
-    @Getter
     private String status;
 
+    /**
+     * Total de la orden en unidades menores (centavos): suma de precio x cantidad de cada línea.
+     * Junto con itemCount y lineCount se calcula al escribir la orden (computeTotals),
+     * así quien necesita los totales no recorre los items.
+     */
+    @Getter
+    private Long totalAmount;
+
+    @Getter
+    private Integer itemCount;
+
+    @Getter
+    private Integer lineCount;
+
     /**
      * Define el getter para la clave de partición (PK) de DynamoDB.
      */
@@ -66,6 +80,33 @@ public class Order implements Serializable {
         return version;
     }
 
+    /**
+     * Clave de partición del índice secundario global por cliente.
+     * Permite listar el historial de un cliente con un Query en lugar de un Scan.
+     */
+    @DynamoDbSecondaryPartitionKey(indexNames = Constants.INDEX_CUSTOMER)
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Clave de partición del índice secundario global por estado.
+     * Permite listar las órdenes de un estado con un Query en lugar de un Scan.
+     */
+    @DynamoDbSecondaryPartitionKey(indexNames = Constants.INDEX_STATUS)
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Clave de ordenamiento de los índices por estado y por cliente: las órdenes de un mismo
+     * estado o cliente quedan ordenadas por fecha de creación.
+     */
+    @DynamoDbSecondarySortKey(indexNames = {Constants.INDEX_STATUS, Constants.INDEX_CUSTOMER})
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
     /**
      * Factory Method (Constructor estático) para crear una Orden desde un DTO de registro.
      * Mapea el DTO de infraestructura al objeto de dominio.
@@ -74,8 +115,19 @@ public class Order implements Serializable {
      * @return Una nueva entidad Order lista para ser persistida.
      */
     public static Order fromRegister(final OrderRegisterReq req) {
+        return fromRegister(req, UlidIdGenerator.INSTANCE);
+    }
+
+    /**
+     * Igual que fromRegister(req), con el generador de IDs inyectado.
+     *
+     * @param req         El DTO de entrada (OrderRegisterReq).
+     * @param idGenerator Genera el orderId (ULID por defecto: ordenable por fecha de creación).
+     * @return Una nueva entidad Order lista para ser persistida.
+     */
+    public static Order fromRegister(final OrderRegisterReq req, final IdGenerator idGenerator) {
         return Order.builder()
-                .orderId(Constants.generateId())
+                .orderId(idGenerator.generate())
                 .customerId(req.customer())
                 .address(req.address())
                 .items(req.items().stream()
@@ -87,7 +139,8 @@ public class Order implements Serializable {
                         .toList())
                 .orderDate(Instant.now())
                 .status(Constants.STATUS_PENDING)
-                .build();
+                .build()
+                .computeTotals();
     }
 
     /**
@@ -101,6 +154,31 @@ public class Order implements Serializable {
                 .orderId(req.id())
                 .customerId(req.customer())
                 .address(req.address())
+                .version(req.version())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Recalcula totalAmount, itemCount y lineCount desde items.
+     * Si items es null (p. ej. una actualización parcial) no cambia nada, para no pisar
+     * los totales guardados.
+     *
+     * @return Esta misma orden.
+     * @throws ArithmeticException si el total no cabe en un long.
+     */
+    public Order computeTotals() {
+        if (items == null) {
+            return this;
+        }
+        long total = 0;
+        int count = 0;
+        for (OrderItem item : items) {
+            total = Math.addExact(total, Math.multiplyExact(item.priceInMinorUnits(), item.getQuantity()));
+            count = Math.addExact(count, item.getQuantity());
+        }
+        this.totalAmount = total;
+        this.itemCount = count;
+        this.lineCount = items.size();
+        return this;
+    }
+}
@@ -0,0 +1,25 @@
+package com.guru.reto.domain;
+
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.Getter;
+
+/**
+ * La orden cambió desde la versión indicada por el cliente (bloqueo optimista)
+ * o ya existe una orden con el mismo ID.
+ */
+@Getter
+public class OrderConflictException extends OrderException {
+
+    private final String orderId;
+
+    /**
+     * Versión guardada al momento del conflicto, o null si no se conoce.
+     */
+    private final Long currentVersion;
+
+    public OrderConflictException(String orderId, Long currentVersion) {
+        super(Constants.MSG_ORDER_CONFLICT);
+        this.orderId = orderId;
+        this.currentVersion = currentVersion;
+    }
+}
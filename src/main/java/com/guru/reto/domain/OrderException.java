@@ -0,0 +1,22 @@
+package com.guru.reto.domain;
+
+/**
+ * Error de negocio o de disponibilidad de una operación sobre órdenes.
+ * Los adaptadores de persistencia traducen a estas excepciones los errores de su tecnología
+ * y los adaptadores de entrada las traducen a códigos HTTP (404, 409, 429, 503).
+ * No guardan la pila de llamadas: se lanzan en el flujo normal (conflictos, throttling)
+ * y su mensaje ya describe el motivo.
+ */
+public abstract class OrderException extends RuntimeException {
+
+    protected OrderException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * @param cause El error de la tecnología que lo originó (ej. el del SDK), para el log.
+     */
+    protected OrderException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -1,5 +1,6 @@
 package com.guru.reto.domain;
 
+import com.guru.reto.infrastructure.util.Constants;
 import lombok.*;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 
@@ -25,4 +26,11 @@ public class OrderItem implements Serializable {
     private String productId;
     private int quantity;
     private double price;
+
+    /**
+     * @return El precio en unidades menores (centavos), redondeado.
+     */
+    public long priceInMinorUnits() {
+        return Math.round(price * Constants.MINOR_UNITS);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.guru.reto.domain;
+
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.Getter;
+
+/**
+ * La orden a modificar no existe.
+ */
+@Getter
+public class OrderNotFoundException extends OrderException {
+
+    private final String orderId;
+
+    public OrderNotFoundException(String orderId) {
+        super(Constants.MSG_ORDER_NOT_FOUND);
+        this.orderId = orderId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.guru.reto.domain;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta de órdenes.
+ *
+ * @param items Las órdenes de la página (como máximo el tamaño solicitado).
+ * @param next  Token opaco para pedir la siguiente página, o null si no hay más resultados.
+ */
+public record OrderPage(
+        List<Order> items,
+        String next
+) {
+}
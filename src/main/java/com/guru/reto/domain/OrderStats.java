@@ -0,0 +1,25 @@
+package com.guru.reto.domain;
+
+import java.util.Map;
+
+/**
+ * Estadísticas de órdenes (GET /orders/stats), mantenidas con contadores al escribir.
+ *
+ * @param byStatus Cantidad de órdenes por estado.
+ * @param byDay    Por día de registro (yyyy-MM-dd, UTC), de los días pedidos que tienen órdenes.
+ */
+public record OrderStats(
+        Map<String, Long> byStatus,
+        Map<String, Day> byDay
+) {
+
+    /**
+     * @param orders      Órdenes registradas en el día.
+     * @param totalAmount Suma de sus totalAmount, en unidades menores (centavos).
+     */
+    public record Day(
+            long orders,
+            long totalAmount
+    ) {
+    }
+}
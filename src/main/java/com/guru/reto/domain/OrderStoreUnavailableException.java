@@ -0,0 +1,30 @@
+package com.guru.reto.domain;
+
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * La persistencia no puede atender la operación por ahora:
+ * - throttled = true: siguió con throttling después de los reintentos (o sin presupuesto para reintentar);
+ * - throttled = false: el circuit breaker está abierto tras fallas sostenidas, o la llamada falló
+ *   por el servicio (5xx), un timeout o la conexión (con ese error como causa).
+ * En ambos casos conviene reintentar después de 'retryAfter'.
+ */
+@Getter
+public class OrderStoreUnavailableException extends OrderException {
+
+    private final boolean throttled;
+    private final Duration retryAfter;
+
+    public OrderStoreUnavailableException(boolean throttled, Duration retryAfter) {
+        this(throttled, retryAfter, null);
+    }
+
+    public OrderStoreUnavailableException(boolean throttled, Duration retryAfter, Throwable cause) {
+        super(throttled ? Constants.MSG_TOO_MANY_REQUESTS : Constants.MSG_STORE_UNAVAILABLE, cause);
+        this.throttled = throttled;
+        this.retryAfter = retryAfter;
+    }
+}
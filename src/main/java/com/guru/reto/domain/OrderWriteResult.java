@@ -0,0 +1,25 @@
+package com.guru.reto.domain;
+
+/**
+ * Resultado de escribir una orden dentro de una operación masiva.
+ *
+ * @param order La orden enviada a la persistencia.
+ * @param error El motivo del fallo, o null si la orden se guardó.
+ */
+public record OrderWriteResult(
+        Order order,
+        String error
+) {
+
+    public static OrderWriteResult written(Order order) {
+        return new OrderWriteResult(order, null);
+    }
+
+    public static OrderWriteResult failed(Order order, String error) {
+        return new OrderWriteResult(order, error);
+    }
+
+    public boolean isWritten() {
+        return error == null;
+    }
+}
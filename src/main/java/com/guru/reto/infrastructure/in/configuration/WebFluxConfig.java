@@ -9,8 +9,12 @@ import org.springframework.web.reactive.config.WebFluxConfigurer;
 @Configuration
 public class WebFluxConfig implements WebFluxConfigurer {
 
+    /**
+     * Se declara con su tipo concreto para que también se inyecte como
+     * jakarta.validation.Validator (ver RequestValidator).
+     */
     @Bean
-    public Validator localValidatorFactoryBean() {
+    public LocalValidatorFactoryBean localValidatorFactoryBean() {
         return new LocalValidatorFactoryBean();
     }
 
@@ -0,0 +1,358 @@
+package com.guru.reto.infrastructure.in.lambda;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guru.reto.application.in.port.OrderMutationPort;
+import com.guru.reto.application.in.port.OrderSearchPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.OrderException;
+import com.guru.reto.infrastructure.in.logging.RequestLogger;
+import com.guru.reto.infrastructure.in.metrics.RouteMetrics;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBatchGetReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import com.guru.reto.infrastructure.in.validation.OrderBulkRegistrar;
+import com.guru.reto.infrastructure.in.validation.RequestValidator;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.DateRange;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import com.guru.reto.infrastructure.util.OrderErrors;
+import com.guru.reto.infrastructure.util.RequestTrace;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Adaptador de entrada para AWS Lambda (HTTP API de API Gateway, payload v2).
+ * Atiende el evento directamente, sin emular un intercambio HTTP de WebFlux:
+ * resuelve la ruta, deserializa el cuerpo con Jackson, lo valida con RequestValidator
+ * y llama a los puertos de entrada. Las respuestas y los errores tienen el mismo
+ * contrato que OrderHandler, que sigue atendiendo el modo servidor (local).
+ * Antes de responder envía los incrementos pendientes de OrderStatsCounters: entre invocaciones
+ * la instancia queda congelada y el envío periódico no corre.
+ * No hay exportación NDJSON: API Gateway entrega la respuesta completa, así que el flujo se
+ * tendría que armar entero en memoria; GET /orders con Accept NDJSON responde 406.
+ * Se activa con spring.cloud.function.definition=orderApi.
+ */
+@Slf4j
+@Component(OrderApiFunction.NAME)
+public class OrderApiFunction implements Function<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
+
+    public static final String NAME = "orderApi";
+
+    static final String ROUTE_LIST = "GET /orders";
+    static final String ROUTE_STATS = "GET /orders/stats";
+    static final String ROUTE_GET = "GET /orders/{id}";
+    static final String ROUTE_REGISTER = "POST /orders";
+    static final String ROUTE_BATCH_GET = "POST /orders:batchGet";
+    static final String ROUTE_BULK = "POST /orders:bulk";
+    static final String ROUTE_UPDATE = "PUT /orders";
+
+    private static final TypeReference<List<OrderRegisterReq>> BULK_BODY = new TypeReference<>() {
+    };
+    private static final Duration STATS_FLUSH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final OrderSearchPort orderSearchPort;
+    private final OrderMutationPort orderMutationPort;
+    private final RequestValidator requestValidator;
+    private final OrderBulkRegistrar orderBulkRegistrar;
+    private final ObjectMapper objectMapper;
+    private final RouteMetrics routeMetrics;
+    private final RequestLogger requestLogger;
+    private final ObjectProvider<OrderStatsCounters> statsCounters;
+    private final Map<String, Function<APIGatewayV2HTTPEvent, Mono<APIGatewayV2HTTPResponse>>> routes;
+
+    public OrderApiFunction(OrderSearchPort orderSearchPort,
+                            OrderMutationPort orderMutationPort,
+                            RequestValidator requestValidator,
+                            OrderBulkRegistrar orderBulkRegistrar,
+                            ObjectMapper objectMapper,
+                            RouteMetrics routeMetrics,
+                            RequestLogger requestLogger,
+                            ObjectProvider<OrderStatsCounters> statsCounters) {
+        this.orderSearchPort = orderSearchPort;
+        this.orderMutationPort = orderMutationPort;
+        this.requestValidator = requestValidator;
+        this.orderBulkRegistrar = orderBulkRegistrar;
+        this.objectMapper = objectMapper;
+        this.routeMetrics = routeMetrics;
+        this.requestLogger = requestLogger;
+        this.statsCounters = statsCounters;
+        this.routes = Map.of(
+                ROUTE_LIST, this::getAllOrders,
+                ROUTE_STATS, this::getStats,
+                ROUTE_GET, this::getOrder,
+                ROUTE_REGISTER, this::registerOrder,
+                ROUTE_BATCH_GET, this::batchGetOrders,
+                ROUTE_BULK, this::registerOrders,
+                ROUTE_UPDATE, this::updateOrder);
+    }
+
+    /**
+     * Atiende una invocación. El hilo de Lambda espera el resultado del pipeline reactivo;
+     * los pipelines en sí no bloquean.
+     * @param event El evento de API Gateway.
+     * Cada ruta conocida se mide con RouteMetrics ('orders.api') y se registra con RequestLogger,
+     * igual que en modo servidor. Después se envían los contadores de estadísticas pendientes
+     * (como máximo STATS_FLUSH_TIMEOUT; si fallan quedan para la siguiente invocación).
+     * @return La respuesta HTTP (404 si la ruta no existe, el código de OrderErrors ante errores
+     * de dominio y 500 ante errores no controlados).
+     */
+    @Override
+    public APIGatewayV2HTTPResponse apply(APIGatewayV2HTTPEvent event) {
+        String route = routeOf(event);
+        Function<APIGatewayV2HTTPEvent, Mono<APIGatewayV2HTTPResponse>> handler = routes.get(route);
+        if (handler == null) {
+            return error(HttpStatus.NOT_FOUND, null, Constants.MSG_ROUTE_NOT_FOUND).block();
+        }
+        RequestTrace trace = new RequestTrace();
+        Timer.Sample sample = routeMetrics.start();
+        APIGatewayV2HTTPResponse response = handler.apply(event)
+                .onErrorResume(OrderException.class, this::orderError)
+                .onErrorResume(e -> {
+                    log.error("Error OrderApiFunction {}: {}", route, e.getMessage(), e);
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, null, Constants.MSG_INTERNAL_ERROR);
+                })
+                .doOnSuccess(res -> {
+                    routeMetrics.record(sample, route, res.getStatusCode());
+                    requestLogger.log(route, res.getStatusCode(), trace);
+                })
+                .contextWrite(context -> context.put(RequestTrace.class, trace))
+                .block();
+        flushStats();
+        return response;
+    }
+
+    /**
+     * Envía los incrementos pendientes de las estadísticas (sin OrderStatsCounters en el perfil local).
+     */
+    private void flushStats() {
+        OrderStatsCounters counters = statsCounters.getIfAvailable();
+        if (counters == null) {
+            return;
+        }
+        try {
+            counters.flush().block(STATS_FLUSH_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("OrderApiFunction.flushStats: {}", e.getMessage());
+        }
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> getOrder(APIGatewayV2HTTPEvent event) {
+        return Mono.justOrEmpty(pathId(event))
+                .flatMap(orderSearchPort::findId)
+                .flatMap(order -> json(HttpStatus.OK, order))
+                .switchIfEmpty(Mono.fromSupplier(() -> response(HttpStatus.NOT_FOUND, null, null)));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> getAllOrders(APIGatewayV2HTTPEvent event) {
+        Map<String, String> params = event.getQueryStringParameters() == null ? Map.of() : event.getQueryStringParameters();
+        if (params.containsKey(Constants.PARAM_CUSTOMER)) {
+            return getCustomerOrders(params);
+        }
+        if (Strings.CS.contains(header(event, HttpHeaders.ACCEPT), MediaType.APPLICATION_NDJSON_VALUE)) {
+            return error(HttpStatus.NOT_ACCEPTABLE, HttpHeaders.ACCEPT, Constants.MSG_NDJSON_NOT_SUPPORTED);
+        }
+        int size = NumberUtils.toInt(params.get(Constants.PARAM_SIZE), Constants.DEFAULT_PAGE_SIZE);
+        return orderSearchPort.findAll(Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE), params.get(Constants.PARAM_TOKEN))
+                .flatMap(page -> json(HttpStatus.OK, page))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(HttpStatus.BAD_REQUEST, Constants.PARAM_TOKEN, e.getMessage()));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> getCustomerOrders(Map<String, String> params) {
+        int size = NumberUtils.toInt(params.get(Constants.PARAM_SIZE), Constants.DEFAULT_PAGE_SIZE);
+        String order = params.getOrDefault(Constants.PARAM_ORDER, Constants.ORDER_DESC);
+        if (!Constants.ORDER_ASC.equals(order) && !Constants.ORDER_DESC.equals(order)) {
+            return error(HttpStatus.BAD_REQUEST, Constants.PARAM_ORDER, Constants.MSG_INVALID_ORDER);
+        }
+        String customer = params.get(Constants.PARAM_CUSTOMER);
+        if (StringUtils.isBlank(customer)) {
+            return error(HttpStatus.BAD_REQUEST, Constants.PARAM_CUSTOMER, Constants.MSG_INVALID_CUSTOMER);
+        }
+        DateRange range;
+        try {
+            range = DateRange.parseBounds(params.get(Constants.PARAM_FROM), params.get(Constants.PARAM_TO));
+        } catch (DateRange.InvalidParamException e) {
+            return error(HttpStatus.BAD_REQUEST, e.param(), e.getMessage());
+        }
+        CustomerOrdersQuery query = new CustomerOrdersQuery(customer, range.from(), range.to(),
+                Constants.ORDER_ASC.equals(order), Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE),
+                params.get(Constants.PARAM_TOKEN));
+        return orderSearchPort.findByCustomer(query)
+                .flatMap(page -> json(HttpStatus.OK, page))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(HttpStatus.BAD_REQUEST, Constants.PARAM_TOKEN, e.getMessage()));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> getStats(APIGatewayV2HTTPEvent event) {
+        Map<String, String> params = event.getQueryStringParameters() == null ? Map.of() : event.getQueryStringParameters();
+        return Mono.fromCallable(() -> DateRange.parse(params.get(Constants.PARAM_FROM), params.get(Constants.PARAM_TO),
+                        Constants.DEFAULT_STATS_DAYS, Constants.MAX_STATS_DAYS))
+                .flatMap(range -> orderSearchPort.findStats(range.from(), range.to()))
+                .flatMap(stats -> json(HttpStatus.OK, stats))
+                .onErrorResume(DateRange.InvalidParamException.class,
+                        e -> error(HttpStatus.BAD_REQUEST, e.param(), e.getMessage()));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> batchGetOrders(APIGatewayV2HTTPEvent event) {
+        return validBody(event, OrderBatchGetReq.class, req -> orderSearchPort.findIds(req.ids())
+                .collectList()
+                .flatMap(orders -> json(HttpStatus.OK, orders)));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> registerOrder(APIGatewayV2HTTPEvent event) {
+        return validBody(event, OrderRegisterReq.class, req -> orderMutationPort.registerOrder(req)
+                .flatMap(order -> json(HttpStatus.CREATED, order))
+                .onErrorResume(ArithmeticException.class,
+                        e -> error(HttpStatus.BAD_REQUEST, Constants.PARAM_ITEMS, Constants.MSG_INVALID_TOTAL)));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> updateOrder(APIGatewayV2HTTPEvent event) {
+        return validBody(event, OrderUpdateReq.class, req -> orderMutationPort.updateOrder(req)
+                .flatMap(order -> json(HttpStatus.ACCEPTED, order)));
+    }
+
+    /**
+     * Igual que OrderHandler.registerOrders: 207 con el resultado de cada orden
+     * en el orden recibido o 400 si el arreglo está vacío o es muy grande.
+     */
+    private Mono<APIGatewayV2HTTPResponse> registerOrders(APIGatewayV2HTTPEvent event) {
+        List<OrderRegisterReq> reqs = read(event, objectMapper.getTypeFactory().constructType(BULK_BODY));
+        if (reqs == null) {
+            return error(HttpStatus.BAD_REQUEST, Constants.PARAM_BODY, Constants.MSG_INVALID_BODY);
+        }
+        if (reqs.isEmpty() || reqs.size() > Constants.MAX_BULK_ORDERS) {
+            return error(HttpStatus.BAD_REQUEST, Constants.PARAM_ORDERS, Constants.MSG_INVALID_BULK_SIZE);
+        }
+        return orderBulkRegistrar.register(reqs)
+                .collectList()
+                .flatMap(results -> json(HttpStatus.MULTI_STATUS, results));
+    }
+
+    /**
+     * Deserializa y valida el cuerpo; si es inválido responde 400 con el mismo formato
+     * que OrderHandler.handleValidationErrors, si no continúa con la acción.
+     */
+    private <T> Mono<APIGatewayV2HTTPResponse> validBody(APIGatewayV2HTTPEvent event, Class<T> type,
+                                                         Function<T, Mono<APIGatewayV2HTTPResponse>> action) {
+        T body = read(event, objectMapper.constructType(type));
+        if (body == null) {
+            return error(HttpStatus.BAD_REQUEST, Constants.PARAM_BODY, Constants.MSG_INVALID_BODY);
+        }
+        List<ErrorResponse> errors = requestValidator.validate(body);
+        return errors.isEmpty() ? action.apply(body) : json(HttpStatus.BAD_REQUEST, errors);
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> json(HttpStatus status, Object body) {
+        return Mono.fromSupplier(() -> response(status, MediaType.APPLICATION_JSON_VALUE, write(body)));
+    }
+
+    private Mono<APIGatewayV2HTTPResponse> error(HttpStatus status, String field, String message) {
+        return json(status, List.of(ErrorResponse.builder()
+                .field(field)
+                .message(message)
+                .build()));
+    }
+
+    /**
+     * Igual que OrderHandler.handleOrderException: código de OrderErrors y Retry-After si corresponde.
+     */
+    private Mono<APIGatewayV2HTTPResponse> orderError(OrderException e) {
+        String retryAfter = OrderErrors.retryAfter(e);
+        return Mono.fromSupplier(() -> APIGatewayV2HTTPResponse.builder()
+                .withStatusCode(OrderErrors.status(e).value())
+                .withHeaders(retryAfter == null
+                        ? Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        : Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE, HttpHeaders.RETRY_AFTER, retryAfter))
+                .withBody(write(List.of(OrderErrors.body(e))))
+                .build());
+    }
+
+    private static APIGatewayV2HTTPResponse response(HttpStatus status, String contentType, String body) {
+        return APIGatewayV2HTTPResponse.builder()
+                .withStatusCode(status.value())
+                .withHeaders(contentType == null ? Map.of() : Map.of(HttpHeaders.CONTENT_TYPE, contentType))
+                .withBody(body)
+                .build();
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return El cuerpo deserializado o null si falta o no es JSON válido para el tipo.
+     */
+    private <T> T read(APIGatewayV2HTTPEvent event, JavaType type) {
+        String body = event.getBody();
+        if (StringUtils.isBlank(body)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(event.getIsBase64Encoded()
+                    ? new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8)
+                    : body, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Error OrderApiFunction.read: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Ruta del evento. Con rutas explícitas en API Gateway se usa el routeKey;
+     * con rutas comodín ($default, {proxy+}) se deduce del método y el path.
+     */
+    static String routeOf(APIGatewayV2HTTPEvent event) {
+        String routeKey = event.getRouteKey();
+        if (routeKey != null && !routeKey.startsWith("$") && !routeKey.startsWith("ANY ") && !routeKey.contains("{proxy+}")) {
+            return routeKey;
+        }
+        String method = event.getRequestContext() == null ? null : event.getRequestContext().getHttp().getMethod();
+        String route = method + " " + Strings.CS.removeEnd(event.getRawPath(), "/");
+        return route.startsWith(ROUTE_LIST + "/") && !ROUTE_STATS.equals(route)
+                ? ROUTE_GET : route;
+    }
+
+    private static String pathId(APIGatewayV2HTTPEvent event) {
+        if (event.getPathParameters() != null && event.getPathParameters().containsKey(Constants.PARAM_ID)) {
+            return event.getPathParameters().get(Constants.PARAM_ID);
+        }
+        return StringUtils.substringAfterLast(event.getRawPath(), "/");
+    }
+
+    private static String header(APIGatewayV2HTTPEvent event, String name) {
+        if (event.getHeaders() == null) {
+            return null;
+        }
+        return event.getHeaders().entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
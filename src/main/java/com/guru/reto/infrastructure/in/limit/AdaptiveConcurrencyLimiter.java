@@ -0,0 +1,88 @@
+package com.guru.reto.infrastructure.in.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia adaptativo AIMD (aumento aditivo, disminución multiplicativa).
+ * - Una solicitud entra solo si las solicitudes en curso no alcanzan el límite; si no, se
+ *   rechaza en el acto (sin cola), para no sumar espera a la que ya tiene la persistencia.
+ * - Al terminar, si tardó más que el umbral de latencia o falló (5xx), el límite se multiplica
+ *   por backoffRatio; si no, y el límite está al menos a medio usar, sube en 1.
+ * Así, cuando DynamoDB se pone lento o hace throttling, el límite baja y el exceso recibe
+ * 429 enseguida en vez de esperar dentro de OrderAdapter.
+ * Métricas (tag group): orders.limiter.limit, orders.limiter.inflight y orders.limiter.rejected.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(String group, int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.min(Math.max(initialLimit, minLimit), maxLimit));
+        Gauge.builder("orders.limiter.limit", limit, AtomicInteger::get)
+                .description("Límite de concurrencia actual")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("orders.limiter.inflight", inFlight, AtomicInteger::get)
+                .description("Solicitudes en curso")
+                .tag("group", group)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.limiter.rejected")
+                .description("Solicitudes rechazadas por el límite de concurrencia")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true si la solicitud entra (y debe llamar a release al terminar), false si se rechaza.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar de una solicitud y ajusta el límite con su resultado.
+     * @param latencyNanos Duración de la solicitud.
+     * @param dropped      true si falló por la persistencia o el servidor (5xx, error).
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            limit.updateAndGet(value -> Math.max(minLimit, (int) (value * backoffRatio)));
+        } else if (current * 2 >= limit.get()) {
+            limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
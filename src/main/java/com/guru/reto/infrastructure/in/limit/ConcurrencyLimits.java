@@ -0,0 +1,89 @@
+package com.guru.reto.infrastructure.in.limit;
+
+import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Límites de concurrencia de OrderRouter: uno para las rutas de lectura y otro para las
+ * de escritura, para que una ráfaga de escrituras con throttling no deje sin lugar a las lecturas.
+ * Cuando el límite se alcanza responde 429 Too Many Requests con Retry-After.
+ * En las rutas NDJSON la solicitud se cuenta hasta que el handler arma la respuesta,
+ * no hasta que termina el flujo. Un 429 de la persistencia (throttling que agotó los reintentos
+ * de DynamoDbResilience) baja el límite igual que un 5xx.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final boolean enabled;
+    private final String retryAfter;
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+
+    public ConcurrencyLimits(@Value("${spring.properties.limiter_enabled}") boolean enabled,
+                             @Value("${spring.properties.limiter_initial_limit}") int initialLimit,
+                             @Value("${spring.properties.limiter_min_limit}") int minLimit,
+                             @Value("${spring.properties.limiter_max_limit}") int maxLimit,
+                             @Value("${spring.properties.limiter_latency_threshold_ms}") long latencyThresholdMs,
+                             @Value("${spring.properties.limiter_backoff_ratio}") double backoffRatio,
+                             @Value("${spring.properties.limiter_retry_after_s}") int retryAfterSeconds,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.retryAfter = String.valueOf(retryAfterSeconds);
+        Duration latencyThreshold = Duration.ofMillis(latencyThresholdMs);
+        this.reads = new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio, meterRegistry);
+        this.writes = new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio, meterRegistry);
+    }
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> reads() {
+        return filter(reads);
+    }
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> writes() {
+        return filter(writes);
+    }
+
+    private HandlerFilterFunction<ServerResponse, ServerResponse> filter(AdaptiveConcurrencyLimiter limiter) {
+        return (request, next) -> {
+            if (!enabled) {
+                return next.handle(request);
+            }
+            if (!limiter.tryAcquire()) {
+                return tooManyRequests();
+            }
+            long start = System.nanoTime();
+            AtomicBoolean dropped = new AtomicBoolean();
+            return next.handle(request)
+                    .doOnNext(response -> dropped.set(response.statusCode().is5xxServerError()
+                            || response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()))
+                    .doOnError(err -> dropped.set(true))
+                    .doFinally(signal -> limiter.release(System.nanoTime() - start, dropped.get()));
+        };
+    }
+
+    /**
+     * 429 con el mismo formato de error que OrderHandler.
+     */
+    private Mono<ServerResponse> tooManyRequests() {
+        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(ErrorResponse.builder()
+                        .message(Constants.MSG_TOO_MANY_REQUESTS)
+                        .build()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.guru.reto.infrastructure.in.logging;
+
+import com.guru.reto.infrastructure.in.metrics.RouteMetrics;
+import com.guru.reto.infrastructure.util.RequestTrace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFilter que abre un RequestTrace por solicitud (en el Context de Reactor) y, cuando
+ * la respuesta termina de escribirse, lo entrega a RequestLogger.
+ * Como RouteMetrics, solo registra las rutas de OrderRouter.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestLogFilter implements WebFilter {
+
+    private final RequestLogger requestLogger;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestTrace trace = new RequestTrace();
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTrace.class, trace))
+                .doFinally(signal -> {
+                    String route = RouteMetrics.route(exchange);
+                    if (route != null) {
+                        requestLogger.log(route, RouteMetrics.status(exchange), trace);
+                    }
+                });
+    }
+}
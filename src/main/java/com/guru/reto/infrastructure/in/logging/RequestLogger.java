@@ -0,0 +1,57 @@
+package com.guru.reto.infrastructure.in.logging;
+
+import com.guru.reto.infrastructure.util.RequestTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Escribe un solo evento de log por solicitud, con pares clave-valor (route, status, orderId
+ * si se conoce, latencyMs, storeMs, storeCalls) que el formato JSON publica como campos.
+ * - Las respuestas exitosas se muestrean con 'log_request_sample_rate' (0 = ninguna, 1 = todas).
+ * - Las respuestas 4xx (WARN) y 5xx (ERROR) se escriben siempre.
+ * Reemplaza los logs de éxito de cada etapa (handler y adaptadores): el evento se arma
+ * solo si se va a escribir y la escritura la hace el appender asíncrono (logback-spring.xml).
+ */
+@Slf4j
+@Component
+public class RequestLogger {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final double sampleRate;
+
+    public RequestLogger(@Value("${spring.properties.log_request_sample_rate}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param route  La ruta atendida ("GET /orders/{id}").
+     * @param status El código HTTP de la respuesta.
+     * @param trace  Los datos reunidos durante la solicitud.
+     */
+    public void log(String route, int status, RequestTrace trace) {
+        Level level = status >= 500 ? Level.ERROR : status >= 400 ? Level.WARN : Level.INFO;
+        if (level == Level.INFO && !sampled()) {
+            return;
+        }
+        LoggingEventBuilder event = log.atLevel(level)
+                .addKeyValue("route", route)
+                .addKeyValue("status", status);
+        if (trace.orderId() != null) {
+            event.addKeyValue("orderId", trace.orderId());
+        }
+        event.addKeyValue("latencyMs", trace.elapsedNanos() / NANOS_PER_MS)
+                .addKeyValue("storeMs", trace.storeNanos() / NANOS_PER_MS)
+                .addKeyValue("storeCalls", trace.storeCalls())
+                .log("request");
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
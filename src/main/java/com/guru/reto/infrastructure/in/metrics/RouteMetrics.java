@@ -0,0 +1,79 @@
+package com.guru.reto.infrastructure.in.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mide cada ruta de la API con el timer 'orders.api', con histograma de percentiles.
+ * - Tags: route ("GET /orders/{id}", igual que el routeKey de API Gateway), status y
+ *   outcome (SUCCESS, CLIENT_ERROR, SERVER_ERROR...).
+ * - Solo mide las rutas de OrderRouter: las que no existen y las de actuator quedan
+ *   en 'http.server.requests' de Spring Boot, así no se crea una serie por path.
+ * - En modo servidor actúa como WebFilter: mide hasta que se escribe la respuesta completa
+ *   (incluye el streaming NDJSON). En Lambda lo usa OrderApiFunction con start/record.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetrics implements WebFilter {
+
+    public static final String METER = "orders.api";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * El router funcional guarda en el intercambio el patrón de la ruta que lo atendió.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Timer.Sample sample = start();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    String route = route(exchange);
+                    if (route != null) {
+                        record(sample, route, status(exchange));
+                    }
+                });
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param sample La medición iniciada con start().
+     * @param route  La ruta atendida ("MÉTODO /patrón").
+     * @param status El código HTTP de la respuesta.
+     */
+    public void record(Timer.Sample sample, String route, int status) {
+        sample.stop(Timer.builder(METER)
+                .description("Duración de las solicitudes por ruta de la API de órdenes")
+                .tag("route", route)
+                .tag("status", String.valueOf(status))
+                .tag("outcome", Outcome.forStatus(status).name())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * @return La ruta que atendió la solicitud ("MÉTODO /patrón") o null si ninguna de OrderRouter la atendió.
+     */
+    public static String route(ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? null : exchange.getRequest().getMethod().name() + " " + pattern.getPatternString();
+    }
+
+    public static int status(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status == null ? 200 : status.value();
+    }
+}
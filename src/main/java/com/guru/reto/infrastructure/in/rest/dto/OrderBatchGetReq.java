@@ -0,0 +1,22 @@
+package com.guru.reto.infrastructure.in.rest.dto;
+
+import com.guru.reto.infrastructure.util.Constants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO para la lectura por lote de órdenes (POST /orders:batchGet).
+ */
+@Builder
+public record OrderBatchGetReq(
+
+        @NotNull(message = "Los ids no deben ser null")
+        @NotEmpty(message = "Los ids no deben ser vacio")
+        @Size(max = Constants.MAX_BATCH_GET_IDS, message = "Se permiten como maximo " + Constants.MAX_BATCH_GET_IDS + " ids")
+        List<String> ids
+) {
+}
@@ -0,0 +1,54 @@
+package com.guru.reto.infrastructure.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una orden dentro del registro masivo (POST /orders:bulk).
+ * 'index' es la posición de la orden en el arreglo recibido y 'code' el estado HTTP
+ * que hubiera tenido el registro individual.
+ */
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBulkResult(
+        int index,
+        int code,
+        String id,
+        String status,
+        List<ErrorResponse> errors
+) {
+
+    public static OrderBulkResult created(int index, Order order) {
+        return OrderBulkResult.builder()
+                .index(index)
+                .code(201)
+                .id(order.getOrderId())
+                .status(order.getStatus())
+                .build();
+    }
+
+    public static OrderBulkResult rejected(int index, List<ErrorResponse> errors) {
+        return OrderBulkResult.builder()
+                .index(index)
+                .code(400)
+                .errors(errors)
+                .build();
+    }
+
+    public static OrderBulkResult failed(int index, String id, String message) {
+        return OrderBulkResult.builder()
+                .index(index)
+                .code(500)
+                .id(id)
+                .errors(List.of(ErrorResponse.builder().message(message).build()))
+                .build();
+    }
+
+    public OrderBulkResult withIndex(int index) {
+        return toBuilder().index(index).build();
+    }
+}
@@ -1,11 +1,26 @@
 package com.guru.reto.infrastructure.in.rest.dto;
 
+import com.guru.reto.infrastructure.util.Constants;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Builder;
 
+/**
+ * DTO de una línea de la orden. Los límites acotan el total (ver Constants.MAX_ORDER_ITEMS);
+ * un precio NaN o infinito no pasa @PositiveOrZero ni @DecimalMax.
+ */
 @Builder
 public record OrderItemReq(
         String productId,
+
+        @Positive(message = "La cantidad debe ser mayor a 0")
+        @Max(value = Constants.MAX_ITEM_QUANTITY, message = "La cantidad debe ser como maximo " + Constants.MAX_ITEM_QUANTITY)
         int quantity,
+
+        @PositiveOrZero(message = "El precio no debe ser negativo")
+        @DecimalMax(value = Constants.MAX_ITEM_PRICE, message = "El precio debe ser como maximo " + Constants.MAX_ITEM_PRICE)
         double price
 ) {
-}
\ No newline at end of file
+}
@@ -1,9 +1,11 @@
 package com.guru.reto.infrastructure.in.rest.dto;
 
-
+import com.guru.reto.infrastructure.util.Constants;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
 import java.util.List;
@@ -27,6 +29,7 @@ public record OrderRegisterReq(
 
         @NotNull(message = "El detalle no debe ser null")
         @NotEmpty(message = "El detalle no debe ser vacio")
-        List<OrderItemReq> items
+        @Size(max = Constants.MAX_ORDER_ITEMS, message = "El detalle admite como maximo " + Constants.MAX_ORDER_ITEMS + " lineas")
+        List<@NotNull(message = "Las lineas del detalle no deben ser null") @Valid OrderItemReq> items
 ) {
 }
@@ -8,14 +8,17 @@ import java.time.Instant;
 
 /**
  * DTO (Data Transfer Object) para la respuesta (Response Body)
- * que se envía al cliente.
+ * que se envía al cliente. 'totalAmount' va en unidades menores (centavos).
  */
 @Builder
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record OrderResponse(
         String id,
         String creation,
-        String status
+        String status,
+        Long totalAmount,
+        Integer itemCount,
+        Integer lineCount
 ) {
 
     /**
@@ -28,6 +31,9 @@ public record OrderResponse(
                 .id(order.getOrderId())
                 .creation(Instant.now().toString())
                 .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .itemCount(order.getItemCount())
+                .lineCount(order.getLineCount())
                 .build();
     }
 }
@@ -2,10 +2,13 @@ package com.guru.reto.infrastructure.in.rest.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Builder;
 
 /**
  * DTO (Data Transfer Object) para la solicitud de actualización (PUT /orders).
+ * 'version' es opcional: si se envía, la actualización solo se aplica si la orden
+ * guardada sigue en esa versión (si no, 409 Conflict).
  */
 @Builder
 public record OrderUpdateReq(
@@ -20,6 +23,9 @@ public record OrderUpdateReq(
 
         @NotNull(message = "La direccion no debe ser null")
         @NotBlank(message = "La direccion no debe ser vacio")
-        String address
+        String address,
+
+        @PositiveOrZero(message = "La version no debe ser negativa")
+        Long version
 ) {
 }
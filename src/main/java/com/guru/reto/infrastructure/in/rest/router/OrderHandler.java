@@ -2,31 +2,50 @@ package com.guru.reto.infrastructure.in.rest.router;
 
 import com.guru.reto.application.in.port.OrderMutationPort;
 import com.guru.reto.application.in.port.OrderSearchPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderException;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBatchGetReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
+import com.guru.reto.infrastructure.in.validation.OrderBulkRegistrar;
+import com.guru.reto.infrastructure.in.validation.RequestValidator;
 import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.DateRange;
 import com.guru.reto.infrastructure.util.ErrorResponse;
+import com.guru.reto.infrastructure.util.OrderErrors;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Manejador de solicitudes HTTP (Adaptador de Entrada) para la entidad Order.
  * Implementa el patrón de Endpoints Funcionales de WebFlux.
  * Es el equivalente a un @RestController, pero en el paradigma funcional y reactivo.
+ * Los errores de dominio (OrderException) se responden con OrderErrors: 404, 409, 429 o 503.
  */
-@Slf4j
 @Component
 @AllArgsConstructor
 public class OrderHandler {
 
+    private static final ParameterizedTypeReference<List<OrderRegisterReq>> BULK_BODY = new ParameterizedTypeReference<>() {
+    };
+
     private final OrderSearchPort orderSearchPort;
     private final OrderMutationPort orderMutationPort;
+    private final OrderBulkRegistrar orderBulkRegistrar;
+    private final RequestValidator requestValidator;
 
     /**
      * Busca una orden por su ID.
@@ -39,65 +58,219 @@ public class OrderHandler {
                 .flatMap(orderSearchPort::findId)
                 .flatMap(order -> ServerResponse.ok().bodyValue(order))
                 .switchIfEmpty(ServerResponse.notFound().build())
-                .doOnSuccess(res -> log.info("Success Get Order for id"));
+                .onErrorResume(OrderException.class, this::handleOrderException);
+    }
+
+    /**
+     * Obtiene una página de órdenes registradas.
+     * Acepta los query params 'size' (por defecto 10, máximo 100) y 'token'
+     * (el valor 'next' devuelto por la página anterior).
+     * @param request ServerRequest con los parámetros de paginación.
+     * Con 'Accept: application/x-ndjson' devuelve todas las órdenes registradas como flujo.
+     * Con 'customer' devuelve el historial de ese cliente (ver getCustomerOrders).
+     * @return Mono<ServerResponse> 200 OK con la página o 400 Bad Request si el token no es válido.
+     */
+    public Mono<ServerResponse> getAllOrders(ServerRequest request) {
+        if (request.queryParam(Constants.PARAM_CUSTOMER).isPresent()) {
+            return getCustomerOrders(request);
+        }
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ndjson(orderSearchPort.streamAll());
+        }
+        int size = NumberUtils.toInt(request.queryParam(Constants.PARAM_SIZE).orElse(null), Constants.DEFAULT_PAGE_SIZE);
+        String token = request.queryParam(Constants.PARAM_TOKEN).orElse(null);
+        return orderSearchPort.findAll(Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE), token)
+                .flatMap(page -> ServerResponse.ok().bodyValue(page))
+                .onErrorResume(IllegalArgumentException.class, e -> handleBadRequest(Constants.PARAM_TOKEN, e.getMessage()))
+                .onErrorResume(OrderException.class, this::handleOrderException);
+    }
+
+    /**
+     * Página del historial de un cliente (índice por cliente y fecha).
+     * Acepta 'order' (asc o desc, por defecto desc), 'from' y 'to' (yyyy-MM-dd, UTC, opcionales),
+     * 'size' y 'token' como la página de órdenes registradas.
+     * @param request ServerRequest con el query param 'customer'.
+     * @return Mono<ServerResponse> 200 OK con la página o 400 Bad Request si algún parámetro no es válido
+     * (con 'customer' vacío, o el parámetro de fecha que invalida el rango).
+     */
+    private Mono<ServerResponse> getCustomerOrders(ServerRequest request) {
+        int size = NumberUtils.toInt(request.queryParam(Constants.PARAM_SIZE).orElse(null), Constants.DEFAULT_PAGE_SIZE);
+        String order = request.queryParam(Constants.PARAM_ORDER).orElse(Constants.ORDER_DESC);
+        if (!Constants.ORDER_ASC.equals(order) && !Constants.ORDER_DESC.equals(order)) {
+            return handleBadRequest(Constants.PARAM_ORDER, Constants.MSG_INVALID_ORDER);
+        }
+        String customer = request.queryParam(Constants.PARAM_CUSTOMER).orElse(null);
+        if (StringUtils.isBlank(customer)) {
+            return handleBadRequest(Constants.PARAM_CUSTOMER, Constants.MSG_INVALID_CUSTOMER);
+        }
+        DateRange range;
+        try {
+            range = DateRange.parseBounds(request.queryParam(Constants.PARAM_FROM).orElse(null),
+                    request.queryParam(Constants.PARAM_TO).orElse(null));
+        } catch (DateRange.InvalidParamException e) {
+            return handleBadRequest(e.param(), e.getMessage());
+        }
+        CustomerOrdersQuery query = new CustomerOrdersQuery(customer,
+                range.from(), range.to(), Constants.ORDER_ASC.equals(order),
+                Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE), request.queryParam(Constants.PARAM_TOKEN).orElse(null));
+        return orderSearchPort.findByCustomer(query)
+                .flatMap(page -> ServerResponse.ok().bodyValue(page))
+                .onErrorResume(IllegalArgumentException.class, e -> handleBadRequest(Constants.PARAM_TOKEN, e.getMessage()))
+                .onErrorResume(OrderException.class, this::handleOrderException);
+    }
+
+    /**
+     * Exporta todas las órdenes de la tabla en formato NDJSON (una orden por línea).
+     * Las órdenes se escriben a medida que llegan del Scan y cada página se pide a DynamoDB
+     * según lo que el cliente va consumiendo, por lo que la memoria es constante
+     * y el primer byte sale con la primera página.
+     * @param request ServerRequest sin parámetros.
+     * @return Mono<ServerResponse> 200 OK con el flujo application/x-ndjson.
+     */
+    public Mono<ServerResponse> exportOrders(ServerRequest request) {
+        return ndjson(orderSearchPort.exportAll());
+    }
+
+    /**
+     * Estadísticas de órdenes: cantidad por estado y órdenes e importe (centavos) por día de registro.
+     * Se leen de contadores, por lo que el costo no depende de la cantidad de órdenes.
+     * Acepta los query params 'from' y 'to' (yyyy-MM-dd, UTC); por defecto los últimos 30 días.
+     * @param request ServerRequest con el rango de días.
+     * @return Mono<ServerResponse> 200 OK con las estadísticas o 400 Bad Request si el rango no es válido.
+     */
+    public Mono<ServerResponse> getStats(ServerRequest request) {
+        return Mono.fromCallable(() -> DateRange.parse(request.queryParam(Constants.PARAM_FROM).orElse(null),
+                        request.queryParam(Constants.PARAM_TO).orElse(null),
+                        Constants.DEFAULT_STATS_DAYS, Constants.MAX_STATS_DAYS))
+                .flatMap(range -> orderSearchPort.findStats(range.from(), range.to()))
+                .flatMap(stats -> ServerResponse.ok().bodyValue(stats))
+                .onErrorResume(DateRange.InvalidParamException.class, e -> handleBadRequest(e.param(), e.getMessage()))
+                .onErrorResume(OrderException.class, this::handleOrderException);
     }
 
     /**
-     * Obtiene todas las órdenes (limitado por el adaptador de persistencia).
-     * @return Mono<ServerResponse> 200 OK con la lista de órdenes.
+     * Busca varias órdenes por ID en una sola solicitud (BatchGetItem en la persistencia).
+     * @param request ServerRequest que contiene el Mono<OrderBatchGetReq>.
+     * @return Mono<ServerResponse> 200 OK con las órdenes encontradas (en el orden pedido)
+     * o 400 Bad Request si la validación falla (sin ids o más de Constants.MAX_BATCH_GET_IDS).
      */
-    public Mono<ServerResponse> getAllOrders() {
-        return orderSearchPort.findAll()
-                .flatMap(orders -> ServerResponse.ok().bodyValue(orders))
-                .doOnSuccess(res -> log.info("Success All Orders"));
+    public Mono<ServerResponse> batchGetOrders(ServerRequest request) {
+        return validBody(request, OrderBatchGetReq.class, req -> orderSearchPort.findIds(req.ids())
+                        .collectList()
+                        .flatMap(orders -> ServerResponse.ok().bodyValue(orders)))
+                .onErrorResume(OrderException.class, this::handleOrderException);
     }
 
     /**
      * Registra una nueva orden.
-     * Lee el cuerpo y automáticamente dispara la validación (configurada en WebFluxConfig).
+     * Lee el cuerpo y lo valida con RequestValidator (ver validBody).
      * @param request ServerRequest que contiene el Mono<OrderRegisterReq>.
-     * @return Mono<ServerResponse> 201 Created o 400 Bad Request si la validación falla.
+     * @return Mono<ServerResponse> 201 Created, 400 Bad Request si la validación falla
+     * (o el total no cabe en un long, ver Order.computeTotals) o el error de dominio (409, 429, 503).
      */
     public Mono<ServerResponse> registerOrder(ServerRequest request) {
-        Mono<OrderRegisterReq> bodyMono = request.bodyToMono(OrderRegisterReq.class);
-        return bodyMono
-                .flatMap(orderMutationPort::registerOrder)
-                .flatMap(order -> ServerResponse.status(201).bodyValue(order))
-                .onErrorResume(WebExchangeBindException.class, this::handleValidationException)
-                .doOnSuccess(res -> log.info("Success Register Order"));
+        return validBody(request, OrderRegisterReq.class, req -> orderMutationPort.registerOrder(req)
+                        .flatMap(order -> ServerResponse.status(201).bodyValue(order)))
+                .onErrorResume(ArithmeticException.class, e -> handleBadRequest(Constants.PARAM_ITEMS, Constants.MSG_INVALID_TOTAL))
+                .onErrorResume(OrderException.class, this::handleOrderException);
+    }
+
+    /**
+     * Registra varias órdenes en una sola solicitud (BatchWriteItem en la persistencia).
+     * Cada orden se valida por separado (ver OrderBulkRegistrar).
+     * El arreglo se lee completo (no con bodyToFlux, que descarta los elementos null)
+     * para que cada resultado conserve la posición recibida.
+     * @param request ServerRequest con un arreglo JSON de OrderRegisterReq.
+     * @return Mono<ServerResponse> 207 Multi-Status con el resultado de cada orden
+     * (en el orden recibido) o 400 Bad Request si el arreglo está vacío o es muy grande.
+     */
+    public Mono<ServerResponse> registerOrders(ServerRequest request) {
+        return request.bodyToMono(BULK_BODY)
+                .defaultIfEmpty(List.of())
+                .flatMap(reqs -> reqs.isEmpty() || reqs.size() > Constants.MAX_BULK_ORDERS
+                        ? handleBadRequest(Constants.PARAM_ORDERS, Constants.MSG_INVALID_BULK_SIZE)
+                        : orderBulkRegistrar.register(reqs).collectList()
+                                .flatMap(results -> ServerResponse.status(HttpStatus.MULTI_STATUS).bodyValue(results)));
     }
 
     /**
      * Actualiza una orden existente.
-     * Similar a registerOrder, captura errores de validación automáticamente.
+     * Similar a registerOrder, valida el cuerpo antes de llamar al puerto.
      * @param request ServerRequest que contiene el Mono<OrderUpdateReq>.
-     * @return Mono<ServerResponse> 202 Accepted o 400 Bad Request.
+     * @return Mono<ServerResponse> 202 Accepted, 400 Bad Request, 404 Not Found si la orden no existe,
+     * 409 Conflict si cambió desde la versión enviada, o 429/503 si la persistencia no puede atenderla.
      */
     public Mono<ServerResponse> updateOrder(ServerRequest request) {
-        return request.bodyToMono(OrderUpdateReq.class)
-                .flatMap(orderMutationPort::updateOrder)
-                .flatMap(order -> ServerResponse.accepted().bodyValue(order))
-                .onErrorResume(WebExchangeBindException.class, this::handleValidationException)
-                .doOnSuccess(res -> log.info("Success Update Order"));
+        return validBody(request, OrderUpdateReq.class, req -> orderMutationPort.updateOrder(req)
+                        .flatMap(order -> ServerResponse.accepted().bodyValue(order)))
+                .onErrorResume(OrderException.class, this::handleOrderException);
+    }
+
+    /**
+     * Respuesta 200 OK que escribe cada orden del flujo como una línea JSON.
+     */
+    private Mono<ServerResponse> ndjson(Flux<Order> orders) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orders, Order.class);
+    }
+
+    /**
+     * Los endpoints funcionales no validan el cuerpo al leerlo (no hay @Valid), así que se valida
+     * con RequestValidator, igual que OrderApiFunction.validBody.
+     * Sin cuerpo responde 400 en 'body'; si es inválido, 400 con los errores; si no, continúa con la acción.
+     */
+    private <T> Mono<ServerResponse> validBody(ServerRequest request, Class<T> type,
+                                               Function<T, Mono<ServerResponse>> action) {
+        return request.bodyToMono(type)
+                .flatMap(body -> {
+                    List<ErrorResponse> errors = requestValidator.validate(body);
+                    return errors.isEmpty() ? action.apply(body) : handleValidationErrors(errors);
+                })
+                .switchIfEmpty(Mono.defer(() -> handleBadRequest(Constants.PARAM_BODY, Constants.MSG_INVALID_BODY)));
     }
 
     /**
      * Método auxiliar clave para manejar errores de validación.
-     * Captura la excepción de WebFlux, la transforma en una lista de ErrorResponse
-     * y la devuelve como un 400 Bad Request con un JSON estructurado.
-     * @param e La excepción de validación lanzada por WebFlux.
+     * Devuelve los errores de RequestValidator como un 400 Bad Request con un JSON estructurado.
+     * @param errors Los errores de validación del cuerpo.
      * @return Mono<ServerResponse> 400 Bad Request con el detalle de los errores.
      */
-    private Mono<ServerResponse> handleValidationException(WebExchangeBindException e) {
-        List<ErrorResponse> errors = e.getBindingResult().getAllErrors().stream()
-                .map(error -> ErrorResponse.builder()
-                        .field(error.getObjectName())
-                        .message(error.getDefaultMessage())
-                        .build())
-                .toList();
-
+    private Mono<ServerResponse> handleValidationErrors(List<ErrorResponse> errors) {
         return ServerResponse.badRequest()
-                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(errors);
     }
+
+    /**
+     * Responde un error de dominio con el código de OrderErrors (y Retry-After si corresponde),
+     * con el mismo formato de handleValidationErrors.
+     * @param e La excepción de dominio.
+     * @return Mono<ServerResponse> 404, 409, 429 o 503.
+     */
+    private Mono<ServerResponse> handleOrderException(OrderException e) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(OrderErrors.status(e))
+                .contentType(MediaType.APPLICATION_JSON);
+        String retryAfter = OrderErrors.retryAfter(e);
+        if (retryAfter != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return builder.bodyValue(List.of(OrderErrors.body(e)));
+    }
+
+    /**
+     * Responde 400 Bad Request con el mismo formato de handleValidationErrors
+     * para errores en parámetros que no pasan por el validador (ej. query params).
+     * @param field   El parámetro inválido.
+     * @param message El detalle del error.
+     * @return Mono<ServerResponse> 400 Bad Request.
+     */
+    private Mono<ServerResponse> handleBadRequest(String field, String message) {
+        return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(ErrorResponse.builder()
+                        .field(field)
+                        .message(message)
+                        .build()));
+    }
 }
\ No newline at end of file
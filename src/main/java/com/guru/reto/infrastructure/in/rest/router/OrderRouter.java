@@ -1,5 +1,6 @@
 package com.guru.reto.infrastructure.in.rest.router;
 
+import com.guru.reto.infrastructure.in.limit.ConcurrencyLimits;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,20 +18,35 @@ public class OrderRouter {
 
     private static final String PATH_ORDER = "/orders";
     private static final String PATH_ORDER_KEY = "/orders/{id}";
+    private static final String PATH_ORDER_EXPORT = "/orders/export";
+    private static final String PATH_ORDER_STATS = "/orders/stats";
+    private static final String PATH_ORDER_BATCH_GET = "/orders:batchGet";
+    private static final String PATH_ORDER_BULK = "/orders:bulk";
 
     /**
      * Bean que configura el enrutamiento funcional.
      * Mapea las rutas y métodos HTTP a los métodos correspondientes del OrderHandler.
-     * @param orderHandler El manejador que contiene la lógica de la solicitud.
+     * Las rutas de lectura y las de escritura pasan por límites de concurrencia separados.
+     * @param orderHandler      El manejador que contiene la lógica de la solicitud.
+     * @param concurrencyLimits Los límites de concurrencia de lecturas y escrituras.
      * @return Un RouterFunction que Spring WebFlux usará para enrutar las peticiones.
      */
     @Bean
-    public RouterFunction<ServerResponse> route(OrderHandler orderHandler) {
-        return RouterFunctions.route()
-                .GET(PATH_ORDER, request -> orderHandler.getAllOrders())
+    public RouterFunction<ServerResponse> route(OrderHandler orderHandler, ConcurrencyLimits concurrencyLimits) {
+        RouterFunction<ServerResponse> reads = RouterFunctions.route()
+                .GET(PATH_ORDER, orderHandler::getAllOrders)
+                .GET(PATH_ORDER_EXPORT, orderHandler::exportOrders)
+                .GET(PATH_ORDER_STATS, orderHandler::getStats)
                 .GET(PATH_ORDER_KEY, orderHandler::getOrder)
+                .POST(PATH_ORDER_BATCH_GET, orderHandler::batchGetOrders)
+                .filter(concurrencyLimits.reads())
+                .build();
+        RouterFunction<ServerResponse> writes = RouterFunctions.route()
                 .POST(PATH_ORDER, orderHandler::registerOrder)
+                .POST(PATH_ORDER_BULK, orderHandler::registerOrders)
                 .PUT(PATH_ORDER, orderHandler::updateOrder)
+                .filter(concurrencyLimits.writes())
                 .build();
+        return reads.and(writes);
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.guru.reto.infrastructure.in.validation;
+
+import com.guru.reto.application.in.port.OrderMutationPort;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Registro masivo compartido por los adaptadores de entrada (WebFlux y Lambda).
+ * Cada orden se valida por separado: las inválidas se informan con su error y
+ * no impiden que el resto se registre.
+ */
+@Component
+@AllArgsConstructor
+public class OrderBulkRegistrar {
+
+    private final OrderMutationPort orderMutationPort;
+    private final RequestValidator requestValidator;
+
+    /**
+     * Separa las órdenes inválidas, registra las válidas y devuelve los resultados
+     * con la posición que cada orden tenía en el arreglo recibido.
+     * @param reqs Las órdenes recibidas (entre 1 y Constants.MAX_BULK_ORDERS).
+     * @return Un Flux con el resultado de cada orden, ordenado por posición.
+     */
+    public Flux<OrderBulkResult> register(List<OrderRegisterReq> reqs) {
+        List<OrderBulkResult> rejected = new ArrayList<>();
+        List<OrderRegisterReq> valid = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            List<ErrorResponse> errors = requestValidator.validate(reqs.get(i));
+            if (errors.isEmpty()) {
+                valid.add(reqs.get(i));
+                positions.add(i);
+            } else {
+                rejected.add(OrderBulkResult.rejected(i, errors));
+            }
+        }
+        Flux<OrderBulkResult> registered = valid.isEmpty()
+                ? Flux.empty()
+                : orderMutationPort.registerOrders(valid)
+                        .map(result -> result.withIndex(positions.get(result.index())));
+        return Flux.fromIterable(rejected)
+                .concatWith(registered)
+                .sort(Comparator.comparingInt(OrderBulkResult::index));
+    }
+}
@@ -0,0 +1,42 @@
+package com.guru.reto.infrastructure.in.validation;
+
+import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Valida DTOs de entrada con las anotaciones jakarta.validation (bodyToMono no valida
+ * en los endpoints funcionales, ni Jackson en la Lambda; tampoco cada elemento de un arreglo)
+ * y devuelve los errores con el mismo formato que OrderHandler.handleValidationErrors.
+ */
+@Component
+@AllArgsConstructor
+public class RequestValidator {
+
+    private final Validator validator;
+
+    /**
+     * @param body El DTO a validar (null, ej. un elemento null del arreglo, es inválido).
+     * @return La lista de errores, vacía si el DTO es válido.
+     */
+    public <T> List<ErrorResponse> validate(T body) {
+        if (body == null) {
+            return List.of(ErrorResponse.builder()
+                    .field(Constants.PARAM_BODY)
+                    .message(Constants.MSG_INVALID_BODY)
+                    .build());
+        }
+        String objectName = StringUtils.uncapitalize(body.getClass().getSimpleName());
+        return validator.validate(body).stream()
+                .map(violation -> ErrorResponse.builder()
+                        .field(objectName)
+                        .message(violation.getMessage())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.guru.reto.infrastructure.out.configuration;
+
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Builder del motor CRT. Está aparte de DynamoDbClients porque aws-crt-client es una
+ * dependencia opcional: esta clase solo se carga con 'engine: CRT'.
+ */
+@UtilityClass
+class CrtHttpClients {
+
+    /**
+     * Intervalo y espera de keep-alive TCP (el cliente CRT los exige explícitos).
+     */
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(5);
+
+    static SdkAsyncHttpClient.Builder<?> builder(DynamoDbClientProperties properties) {
+        AwsCrtAsyncHttpClient.Builder builder = AwsCrtAsyncHttpClient.builder();
+        DynamoDbClients.ifPositive(properties.maxConcurrency(), builder::maxConcurrency);
+        DynamoDbClients.ifSet(properties.connectionTimeout(), builder::connectionTimeout);
+        DynamoDbClients.ifSet(properties.connectionMaxIdleTime(), builder::connectionMaxIdleTime);
+        if (properties.tcpKeepAlive()) {
+            builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                    .keepAliveInterval(KEEP_ALIVE_INTERVAL)
+                    .keepAliveTimeout(KEEP_ALIVE_TIMEOUT)
+                    .build());
+        }
+        return builder;
+    }
+}
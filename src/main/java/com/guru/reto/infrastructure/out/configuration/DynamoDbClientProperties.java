@@ -0,0 +1,61 @@
+package com.guru.reto.infrastructure.out.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Parámetros del cliente HTTP que usa DynamoDbAsyncClient (spring.properties.db_client).
+ * Los valores en 0 o vacíos dejan el valor por defecto del SDK.
+ *
+ * @param engine                       Motor HTTP: NETTY (Netty NIO) o CRT (AWS Common Runtime).
+ * @param maxConcurrency               Conexiones simultáneas máximas del pool.
+ * @param maxPendingAcquires           Solicitudes que pueden esperar una conexión (solo NETTY).
+ * @param connectionAcquisitionTimeout Espera máxima por una conexión libre (solo NETTY).
+ * @param connectionTimeout            Tiempo máximo para establecer la conexión TCP/TLS.
+ * @param connectionMaxIdleTime        Tiempo que una conexión ociosa sigue en el pool.
+ * @param readTimeout                  Espera máxima de lectura de la respuesta (solo NETTY).
+ * @param writeTimeout                 Espera máxima de escritura de la solicitud (solo NETTY).
+ * @param tcpKeepAlive                 Activa keep-alive TCP en las conexiones.
+ * @param eventLoopThreads             Hilos del event loop de Netty (solo NETTY).
+ * @param endpointOverride             Endpoint alternativo (ej. DynamoDB Local o un stub de pruebas).
+ */
+@ConfigurationProperties(prefix = "spring.properties.db-client")
+public record DynamoDbClientProperties(
+        Engine engine,
+        int maxConcurrency,
+        int maxPendingAcquires,
+        Duration connectionAcquisitionTimeout,
+        Duration connectionTimeout,
+        Duration connectionMaxIdleTime,
+        Duration readTimeout,
+        Duration writeTimeout,
+        boolean tcpKeepAlive,
+        int eventLoopThreads,
+        String endpointOverride
+) {
+
+    public enum Engine {
+        NETTY,
+        CRT
+    }
+
+    /**
+     * Resumen de la configuración efectiva para el log de arranque.
+     */
+    public String describe() {
+        return engine == Engine.CRT
+                ? String.format("engine=CRT maxConcurrency=%d connectionTimeout=%s connectionMaxIdleTime=%s tcpKeepAlive=%s endpoint=%s",
+                        maxConcurrency, connectionTimeout, connectionMaxIdleTime, tcpKeepAlive, endpointOrDefault())
+                : String.format("engine=NETTY maxConcurrency=%d maxPendingAcquires=%d connectionAcquisitionTimeout=%s "
+                                + "connectionTimeout=%s connectionMaxIdleTime=%s readTimeout=%s writeTimeout=%s "
+                                + "tcpKeepAlive=%s eventLoopThreads=%s endpoint=%s",
+                        maxConcurrency, maxPendingAcquires, connectionAcquisitionTimeout, connectionTimeout,
+                        connectionMaxIdleTime, readTimeout, writeTimeout, tcpKeepAlive,
+                        eventLoopThreads > 0 ? eventLoopThreads : "default", endpointOrDefault());
+    }
+
+    private String endpointOrDefault() {
+        return endpointOverride == null || endpointOverride.isBlank() ? "default" : endpointOverride;
+    }
+}
@@ -0,0 +1,89 @@
+package com.guru.reto.infrastructure.out.configuration;
+
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.ClassUtils;
+import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Construye el DynamoDbAsyncClient con el motor HTTP configurado.
+ * Se usa desde DynamoDbConfig y desde los benchmarks, para medir exactamente
+ * el mismo cliente que corre en producción.
+ */
+@UtilityClass
+public class DynamoDbClients {
+
+    private static final String CRT_CLIENT = "software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient";
+
+    /**
+     * @param properties       Parámetros del cliente HTTP.
+     * @param region           Región de AWS.
+     * @param directCompletion Completar las respuestas en el hilo de I/O (ver DynamoDbConfig).
+     * @return El builder del cliente, listo para build() o para agregar credenciales.
+     */
+    public static DynamoDbAsyncClientBuilder builder(DynamoDbClientProperties properties, String region,
+                                                     boolean directCompletion) {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .httpClientBuilder(httpClientBuilder(properties));
+        if (StringUtils.isNotBlank(properties.endpointOverride())) {
+            builder.endpointOverride(URI.create(properties.endpointOverride()));
+        }
+        if (directCompletion) {
+            builder.asyncConfiguration(ClientAsyncConfiguration.builder()
+                    .advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, Runnable::run)
+                    .build());
+        }
+        return builder;
+    }
+
+    private static SdkAsyncHttpClient.Builder<?> httpClientBuilder(DynamoDbClientProperties properties) {
+        if (properties.engine() != DynamoDbClientProperties.Engine.CRT) {
+            return netty(properties);
+        }
+        if (!ClassUtils.isPresent(CRT_CLIENT, DynamoDbClients.class.getClassLoader())) {
+            throw new IllegalStateException("db_client.engine=CRT requiere software.amazon.awssdk:aws-crt-client"
+                    + " en el classpath (es opcional: empaquetar con -Pcrt)");
+        }
+        return CrtHttpClients.builder(properties);
+    }
+
+    private static NettyNioAsyncHttpClient.Builder netty(DynamoDbClientProperties properties) {
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                .tcpKeepAlive(properties.tcpKeepAlive())
+                .useIdleConnectionReaper(true);
+        ifPositive(properties.maxConcurrency(), builder::maxConcurrency);
+        ifPositive(properties.maxPendingAcquires(), builder::maxPendingConnectionAcquires);
+        ifSet(properties.connectionAcquisitionTimeout(), builder::connectionAcquisitionTimeout);
+        ifSet(properties.connectionTimeout(), builder::connectionTimeout);
+        ifSet(properties.connectionMaxIdleTime(), builder::connectionMaxIdleTime);
+        ifSet(properties.readTimeout(), builder::readTimeout);
+        ifSet(properties.writeTimeout(), builder::writeTimeout);
+        ifPositive(properties.eventLoopThreads(),
+                threads -> builder.eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(threads)));
+        return builder;
+    }
+
+    static void ifPositive(int value, Consumer<Integer> setter) {
+        if (value > 0) {
+            setter.accept(value);
+        }
+    }
+
+    static void ifSet(Duration value, Consumer<Duration> setter) {
+        if (value != null && !value.isZero()) {
+            setter.accept(value);
+        }
+    }
+}
@@ -1,20 +1,26 @@
 package com.guru.reto.infrastructure.out.configuration;
 
 import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.metrics.DynamoDbMetricsInterceptor;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 
 /**
  * Configuración de Spring para la conexión con AWS DynamoDB.
  * Crea los beans necesarios para el cliente asíncrono.
  */
+@Slf4j
 @Configuration
+@Profile("!local")
+@EnableConfigurationProperties(DynamoDbClientProperties.class)
 public class DynamoDbConfig {
 
     @Value("${spring.properties.db_table}")
@@ -23,13 +29,28 @@ public class DynamoDbConfig {
     @Value("${spring.properties.db_region}")
     private String region;
 
+    @Value("${spring.properties.db_direct_completion}")
+    private boolean directCompletion;
+
+    @Value("${spring.properties.db_table_schema}")
+    private String tableSchema;
+
     /**
-     * Crea el cliente base Asíncrono de DynamoDB (SDK v2).
+     * Crea el cliente base Asíncrono de DynamoDB (SDK v2) con el motor HTTP
+     * configurado en 'db_client' (Netty NIO o AWS CRT) y registra en el log
+     * la configuración efectiva.
+     * Con 'db_direct_completion' los CompletableFuture se completan en el mismo hilo
+     * de I/O que recibió la respuesta, en lugar de pasar por el executor interno del SDK,
+     * evitando un cambio de hilo por llamada. Los pipelines no deben bloquear.
+     * DynamoDbMetricsInterceptor mide la capacidad consumida, los conflictos y el throttling.
      */
     @Bean
-    public DynamoDbAsyncClient dynamoDbAsyncClient() {
-        return  DynamoDbAsyncClient.builder()
-                .region(Region.of(region))
+    public DynamoDbAsyncClient dynamoDbAsyncClient(DynamoDbClientProperties clientProperties,
+                                                   DynamoDbMetricsInterceptor metricsInterceptor) {
+        log.info("DynamoDbAsyncClient region={} directCompletion={} {}",
+                region, directCompletion, clientProperties.describe());
+        return DynamoDbClients.builder(clientProperties, region, directCompletion)
+                .overrideConfiguration(config -> config.addExecutionInterceptor(metricsInterceptor))
                 .build();
     }
 
@@ -47,10 +68,13 @@ public class DynamoDbConfig {
     /**
      * Crea el Bean de la tabla específica, vinculando el cliente
      * con el nombre de la tabla y el esquema de la entidad (Order.class).
+     * Con 'db_table_schema: static' usa los esquemas de OrderSchemas (sin reflexión);
+     * 'compact' es el mismo esquema con los items en binario (OrderItemsConverter)
+     * y con 'bean' los genera desde las anotaciones @DynamoDbBean.
      * Este es el Bean que se inyecta en el OrderAdapter.
      */
     @Bean
     public DynamoDbAsyncTable<Order> orderTable(DynamoDbEnhancedAsyncClient asyncEnhancedClient) {
-        return asyncEnhancedClient.table(table, TableSchema.fromBean(Order.class));
+        return asyncEnhancedClient.table(table, OrderSchemas.order(tableSchema));
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.guru.reto.infrastructure.out.configuration;
+
+import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.infrastructure.out.metrics.MeteredOrderPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las métricas de los adaptadores de salida.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Envuelve la implementación activa de OrderPort (OrderAdapter o InMemoryOrderAdapter)
+     * con MeteredOrderPort, sin que los adaptadores de aplicación cambien.
+     * Es static y recibe el MeterRegistry con un ObjectProvider para no adelantar
+     * la creación de beans: los BeanPostProcessor se crean antes que el resto.
+     */
+    @Bean
+    public static BeanPostProcessor meteredOrderPortPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof OrderPort port && !(bean instanceof MeteredOrderPort)
+                        ? new MeteredOrderPort(port, meterRegistry.getObject())
+                        : bean;
+            }
+        };
+    }
+}
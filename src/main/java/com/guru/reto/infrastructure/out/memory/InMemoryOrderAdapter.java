@@ -0,0 +1,427 @@
+package com.guru.reto.infrastructure.out.memory;
+
+import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.domain.OrderNotFoundException;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+
+/**
+ * Adaptador de Salida en memoria (perfil 'local').
+ * Implementa OrderPort sin AWS para desarrollo local y pruebas de carga repetibles
+ * de toda la pila WebFlux.
+ * - Tabla: ConcurrentHashMap por orderId. Las órdenes guardadas no se modifican:
+ *   cada escritura reemplaza la instancia y cada lectura devuelve una copia.
+ * - Índices por estado y por cliente: ConcurrentSkipListSet ordenados de la orden más
+ *   reciente a la más antigua. Guardan la misma instancia que la tabla (sin entradas extra)
+ *   y se actualizan en el mismo compute que la tabla.
+ * - Versión: mismas reglas que @DynamoDbVersionAttribute y el UpdateItem de OrderAdapter.
+ *   create falla si la orden ya existe y update falla si no existe.
+ */
+@Slf4j
+@Repository
+@Profile("local")
+public class InMemoryOrderAdapter implements OrderPort {
+
+    /**
+     * Más reciente primero; el orderId desempata órdenes con la misma fecha.
+     */
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getOrderId);
+    private static final String TOKEN_SEPARATOR = "|";
+
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Order>> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Order>> byCustomer = new ConcurrentHashMap<>();
+
+    public InMemoryOrderAdapter(@Value("${spring.properties.memory_seed_orders}") int seedOrders) {
+        if (seedOrders > 0) {
+            seed(seedOrders);
+        }
+    }
+
+    public Mono<List<Order>> findAll() {
+        return findAll(Constants.DEFAULT_PAGE_SIZE, null)
+                .map(OrderPage::items);
+    }
+
+    /**
+     * Página de órdenes 'REGISTRADO', de la más reciente a la más antigua.
+     * El token es la posición (fecha y orderId) de la última orden devuelta.
+     */
+    public Mono<OrderPage> findAll(int size, String token) {
+        return Mono.fromCallable(() -> {
+            NavigableSet<Order> index = byStatus.getOrDefault(Constants.STATUS_REGISTRATION, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+            NavigableSet<Order> pending = token == null ? index : index.tailSet(decode(token), false);
+            List<Order> items = new ArrayList<>(size);
+            for (Order order : pending) {
+                if (items.size() == size) {
+                    return new OrderPage(items, encode(items.get(size - 1)));
+                }
+                items.add(summary(order));
+            }
+            return new OrderPage(items, null);
+        });
+    }
+
+    public Flux<Order> streamAll() {
+        return Flux.defer(() -> Flux.fromIterable(byStatus.getOrDefault(Constants.STATUS_REGISTRATION, new ConcurrentSkipListSet<>(NEWEST_FIRST))))
+                .map(InMemoryOrderAdapter::summary);
+    }
+
+    /**
+     * Página del historial de un cliente sobre su índice, en el orden pedido y dentro de los
+     * días 'from'..'to' (UTC). El token es la posición de la última orden devuelta, como en findAll.
+     */
+    public Mono<OrderPage> findByCustomer(CustomerOrdersQuery query) {
+        return Mono.fromCallable(() -> {
+            NavigableSet<Order> index = byCustomer.getOrDefault(query.customerId(), new ConcurrentSkipListSet<>(NEWEST_FIRST));
+            NavigableSet<Order> range = range(index, query.from(), query.to());
+            NavigableSet<Order> ordered = query.ascending() ? range.descendingSet() : range;
+            NavigableSet<Order> pending = query.token() == null ? ordered : after(ordered, query.token());
+            List<Order> items = new ArrayList<>(query.size());
+            for (Order order : pending) {
+                if (items.size() == query.size()) {
+                    return new OrderPage(items, encode(items.get(query.size() - 1)));
+                }
+                items.add(summary(order));
+            }
+            return new OrderPage(items, null);
+        });
+    }
+
+    /**
+     * Órdenes de un cliente, de la más reciente a la más antigua.
+     * @param customerId El cliente.
+     * @return Un Flux con sus órdenes.
+     */
+    public Flux<Order> streamByCustomer(String customerId) {
+        return Flux.defer(() -> Flux.fromIterable(byCustomer.getOrDefault(customerId, new ConcurrentSkipListSet<>(NEWEST_FIRST))))
+                .map(InMemoryOrderAdapter::copy);
+    }
+
+    public Flux<Order> scanAll() {
+        return Flux.defer(() -> Flux.fromIterable(orders.values()))
+                .map(InMemoryOrderAdapter::copy);
+    }
+
+    public Mono<Order> findId(String id) {
+        return Mono.fromCallable(() -> orders.get(id))
+                .map(InMemoryOrderAdapter::copy);
+    }
+
+    public Flux<Order> findIds(List<String> ids) {
+        return Flux.defer(() -> Flux.fromIterable(new LinkedHashSet<>(ids)))
+                .mapNotNull(orders::get)
+                .map(InMemoryOrderAdapter::copy);
+    }
+
+    /**
+     * Guarda una orden nueva con versión 1 y estado 'REGISTRADO'.
+     * Como el putItem versionado, falla si ya existe una orden con ese ID.
+     */
+    public Mono<Order> create(Order order) {
+        return Mono.fromCallable(() -> insert(order))
+                .switchIfEmpty(Mono.error(() -> new OrderConflictException(order.getOrderId(), null)))
+                .doOnError(err -> log.error("Error InMemoryOrderAdapter.create: {} - {}", order.getOrderId(), err.getMessage()));
+    }
+
+    public Flux<OrderWriteResult> createAll(Flux<Order> orders) {
+        return orders.map(order -> {
+            Order saved = insert(order);
+            return saved == null
+                    ? OrderWriteResult.failed(order, Constants.MSG_ORDER_NOT_PROCESSED)
+                    : OrderWriteResult.written(saved);
+        });
+    }
+
+    /**
+     * Actualización parcial: copia los campos no nulos (salvo clave y versión),
+     * fija la fecha de actualización e incrementa la versión.
+     * Como OrderAdapter: falla con OrderNotFoundException si la orden no existe y, si la orden
+     * trae otra versión que la guardada, devuelve la guardada cuando ya tiene los valores pedidos
+     * o falla con OrderConflictException.
+     * @return La orden completa tal como quedó guardada.
+     */
+    public Mono<Order> update(Order order) {
+        return Mono.fromCallable(() -> orders.computeIfPresent(order.getOrderId(), (id, current) -> {
+                    if (order.getVersion() != null && !order.getVersion().equals(current.getVersion())) {
+                        if (isApplied(current, order)) {
+                            return current;
+                        }
+                        throw new OrderConflictException(id, current.getVersion());
+                    }
+                    Order saved = merge(current, order);
+                    reindex(current, saved);
+                    return saved;
+                }))
+                .map(InMemoryOrderAdapter::copy)
+                .switchIfEmpty(Mono.error(() -> new OrderNotFoundException(order.getOrderId())))
+                .doOnError(err -> log.error("Error InMemoryOrderAdapter.update: {} - {}", order.getOrderId(), err.getMessage()));
+    }
+
+    /**
+     * Estadísticas calculadas en el acto sobre la tabla en memoria (sin contadores):
+     * órdenes por estado y órdenes e importe por día de registro (UTC) entre 'from' y 'to'.
+     */
+    public Mono<OrderStats> findStats(LocalDate from, LocalDate to) {
+        return Mono.fromCallable(() -> {
+            Map<String, Long> statuses = new TreeMap<>();
+            byStatus.forEach((status, index) -> {
+                if (!index.isEmpty()) {
+                    statuses.put(status, (long) index.size());
+                }
+            });
+            Map<String, long[]> sums = new TreeMap<>();
+            for (Order order : orders.values()) {
+                if (order.getOrderDate() == null) {
+                    continue;
+                }
+                LocalDate day = order.getOrderDate().atZone(ZoneOffset.UTC).toLocalDate();
+                if (!day.isBefore(from) && !day.isAfter(to)) {
+                    long[] sum = sums.computeIfAbsent(day.toString(), key -> new long[2]);
+                    sum[0]++;
+                    sum[1] += order.getTotalAmount() == null ? 0 : order.getTotalAmount();
+                }
+            }
+            Map<String, OrderStats.Day> days = new TreeMap<>();
+            sums.forEach((day, sum) -> days.put(day, new OrderStats.Day(sum[0], sum[1])));
+            return new OrderStats(statuses, days);
+        });
+    }
+
+    /**
+     * Cantidad de órdenes guardadas.
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Inserta la orden si el ID no existe. Tabla e índices se actualizan dentro del
+     * mismo compute para que una escritura concurrente del mismo ID no los desordene.
+     * @return Una copia de la orden guardada o null si el ID ya existía.
+     */
+    private Order insert(Order order) {
+        Order saved = copy(order).toBuilder()
+                .version(1L)
+                .status(Constants.STATUS_REGISTRATION)
+                .build()
+                .computeTotals();
+        Order stored = orders.compute(saved.getOrderId(), (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            reindex(null, saved);
+            return saved;
+        });
+        return stored == saved ? copy(saved) : null;
+    }
+
+    private static Order merge(Order current, Order changes) {
+        Order.OrderBuilder merged = current.toBuilder()
+                .orderUpdate(Instant.now())
+                .version(Objects.requireNonNullElse(current.getVersion(), 0L) + 1);
+        if (changes.getCustomerId() != null) {
+            merged.customerId(changes.getCustomerId());
+        }
+        if (changes.getAddress() != null) {
+            merged.address(changes.getAddress());
+        }
+        if (changes.getOrderDate() != null) {
+            merged.orderDate(changes.getOrderDate());
+        }
+        if (changes.getItems() != null) {
+            merged.items(copyItems(changes.getItems()));
+        }
+        if (changes.getStatus() != null) {
+            merged.status(changes.getStatus());
+        }
+        return merged.build().computeTotals();
+    }
+
+    /**
+     * La orden guardada ya tiene los campos no nulos de 'changes' que copia merge.
+     */
+    private static boolean isApplied(Order current, Order changes) {
+        return (changes.getCustomerId() == null || changes.getCustomerId().equals(current.getCustomerId()))
+                && (changes.getAddress() == null || changes.getAddress().equals(current.getAddress()))
+                && (changes.getOrderDate() == null || changes.getOrderDate().equals(current.getOrderDate()))
+                && (changes.getStatus() == null || changes.getStatus().equals(current.getStatus()));
+    }
+
+    /**
+     * Reemplaza la instancia anterior por la nueva en los índices.
+     */
+    private void reindex(Order previous, Order saved) {
+        if (previous != null) {
+            remove(byStatus, previous.getStatus(), previous);
+            remove(byCustomer, previous.getCustomerId(), previous);
+        }
+        add(byStatus, saved.getStatus(), saved);
+        add(byCustomer, saved.getCustomerId(), saved);
+    }
+
+    private static void add(Map<String, NavigableSet<Order>> index, String key, Order order) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(order);
+        }
+    }
+
+    private static void remove(Map<String, NavigableSet<Order>> index, String key, Order order) {
+        if (key != null) {
+            NavigableSet<Order> entries = index.get(key);
+            if (entries != null) {
+                entries.remove(order);
+            }
+        }
+    }
+
+    /**
+     * Copia defensiva: Order es mutable y la tabla no debe cambiar fuera de este adaptador.
+     */
+    private static Order copy(Order order) {
+        return order.toBuilder()
+                .items(order.getItems() == null ? null : copyItems(order.getItems()))
+                .build();
+    }
+
+    /**
+     * Copia sin 'items', como la proyección de los listados de OrderAdapter (SUMMARY_ATTRIBUTES).
+     */
+    private static Order summary(Order order) {
+        return order.toBuilder()
+                .items(null)
+                .build();
+    }
+
+    /**
+     * Vista del índice con las órdenes registradas entre los días 'from' y 'to' (UTC). Los límites
+     * son órdenes "sonda", como las de decode, así que el recorrido empieza en el límite del rango
+     * en vez de descartar órdenes una a una. Con algún límite quedan fuera las órdenes sin fecha.
+     */
+    private static NavigableSet<Order> range(NavigableSet<Order> index, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return index;
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return new ConcurrentSkipListSet<>(NEWEST_FIRST);
+        }
+        Order oldest = probe(from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant().minusNanos(1));
+        if (to == null) {
+            return index.headSet(oldest, false);
+        }
+        Order newest = probe(to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusNanos(1));
+        return index.subSet(newest, true, oldest, false);
+    }
+
+    /**
+     * Órdenes posteriores a la posición del token. Una posición fuera de la vista no es un token de esta consulta.
+     */
+    private static NavigableSet<Order> after(NavigableSet<Order> ordered, String token) {
+        try {
+            return ordered.tailSet(decode(token), false);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN, e);
+        }
+    }
+
+    private static List<OrderItem> copyItems(List<OrderItem> items) {
+        return items.stream()
+                .map(item -> OrderItem.builder()
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .price(item.getPrice())
+                        .build())
+                .toList();
+    }
+
+    private static String encode(Order last) {
+        String position = Objects.toString(last.getOrderDate(), "") + TOKEN_SEPARATOR + last.getOrderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sonda de NEWEST_FIRST que queda antes de todas las órdenes con esa fecha ("" es el menor orderId).
+     * Con fecha null queda antes de las órdenes sin fecha, al final del índice.
+     */
+    private static Order probe(Instant date) {
+        return Order.builder()
+                .orderId("")
+                .orderDate(date)
+                .build();
+    }
+
+    /**
+     * @return Una orden "sonda" con la posición del token, para buscar en el índice.
+     */
+    private static Order decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String date = StringUtils.substringBefore(position, TOKEN_SEPARATOR);
+            String id = StringUtils.substringAfter(position, TOKEN_SEPARATOR);
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN);
+            }
+            return Order.builder()
+                    .orderId(id)
+                    .orderDate(date.isEmpty() ? null : Instant.parse(date))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN, e);
+        }
+    }
+
+    /**
+     * Precarga órdenes sintéticas y deterministas (mismos IDs y datos en cada arranque)
+     * para pruebas de carga repetibles.
+     */
+    private void seed(int count) {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        IntStream.range(0, count).forEach(i -> {
+            Order order = Order.builder()
+                    .orderId(String.format("seed-%08d", i))
+                    .customerId("customer-" + (i % 1000))
+                    .address("Calle " + i)
+                    .orderDate(base.plusSeconds(i))
+                    .items(List.of(OrderItem.builder()
+                            .productId("product-" + (i % 100))
+                            .quantity(1 + i % 5)
+                            .price(10.0 + i % 50)
+                            .build()))
+                    .build();
+            insert(order);
+        });
+        log.info("InMemoryOrderAdapter: {} órdenes precargadas", count);
+    }
+}
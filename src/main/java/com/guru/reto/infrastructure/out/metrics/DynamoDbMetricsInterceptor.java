@@ -0,0 +1,137 @@
+package com.guru.reto.infrastructure.out.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interceptor del SDK que mide el uso de DynamoDB por operación (GetItem, Query, BatchWriteItem...).
+ * - Pide ReturnConsumedCapacity.TOTAL en las solicitudes que no lo indican y registra las
+ *   unidades consumidas en 'dynamodb.consumed.capacity' (tags: operation, type = read | write).
+ * - Cuenta los conflictos de versión (ConditionalCheckFailedException) en 'dynamodb.conflicts'
+ *   y las solicitudes rechazadas por throttling en 'dynamodb.throttles'. El SDK reintenta los
+ *   throttling antes de fallar, así que solo se cuentan los que agotaron los reintentos.
+ * Se registra en el cliente desde DynamoDbConfig; cubre las llamadas del cliente Enhanced
+ * y las de bajo nivel (OrderAdapter.update, OrderBatchReader, OrderBatchWriter).
+ */
+@Component
+@Profile("!local")
+public class DynamoDbMetricsInterceptor implements ExecutionInterceptor {
+
+    public static final String METER_CAPACITY = "dynamodb.consumed.capacity";
+    public static final String METER_CONFLICTS = "dynamodb.conflicts";
+    public static final String METER_THROTTLES = "dynamodb.throttles";
+
+    private static final String TAG_OPERATION = "operation";
+    private static final String TAG_TYPE = "type";
+    private static final String FIELD_CONSUMED_CAPACITY = "ConsumedCapacity";
+    private static final Set<String> READ_OPERATIONS = Set.of("GetItem", "BatchGetItem", "Query", "Scan");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> capacity = new ConcurrentHashMap<>();
+    private final Map<String, Counter> conflicts = new ConcurrentHashMap<>();
+    private final Map<String, Counter> throttles = new ConcurrentHashMap<>();
+
+    public DynamoDbMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Agrega ReturnConsumedCapacity.TOTAL; si la solicitud ya lo indica se respeta.
+     */
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        if (request instanceof GetItemRequest get && get.returnConsumedCapacity() == null) {
+            return get.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof PutItemRequest put && put.returnConsumedCapacity() == null) {
+            return put.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof UpdateItemRequest update && update.returnConsumedCapacity() == null) {
+            return update.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof QueryRequest query && query.returnConsumedCapacity() == null) {
+            return query.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof ScanRequest scan && scan.returnConsumedCapacity() == null) {
+            return scan.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchGetItemRequest batchGet && batchGet.returnConsumedCapacity() == null) {
+            return batchGet.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchWriteItemRequest batchWrite && batchWrite.returnConsumedCapacity() == null) {
+            return batchWrite.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        return request;
+    }
+
+    /**
+     * Las respuestas traen un ConsumedCapacity (operaciones de un ítem, Query, Scan)
+     * o una lista con uno por tabla (operaciones batch).
+     */
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        context.response().getValueForField(FIELD_CONSUMED_CAPACITY, Object.class)
+                .map(consumed -> consumed instanceof List<?> list
+                        ? list.stream().mapToDouble(DynamoDbMetricsInterceptor::units).sum()
+                        : units(consumed))
+                .ifPresent(units -> capacity.computeIfAbsent(operation, this::capacitySummary).record(units));
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Throwable error = context.exception();
+        if (error instanceof ConditionalCheckFailedException) {
+            conflicts.computeIfAbsent(operation, op -> counter(METER_CONFLICTS, op)).increment();
+        } else if (error instanceof AwsServiceException aws && aws.isThrottlingException()) {
+            throttles.computeIfAbsent(operation, op -> counter(METER_THROTTLES, op)).increment();
+        }
+    }
+
+    private DistributionSummary capacitySummary(String operation) {
+        return DistributionSummary.builder(METER_CAPACITY)
+                .description("Unidades de capacidad consumidas por solicitud")
+                .baseUnit("capacity_units")
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_TYPE, READ_OPERATIONS.contains(operation) ? "read" : "write")
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag(TAG_OPERATION, operation)
+                .register(meterRegistry);
+    }
+
+    private static double units(Object consumed) {
+        return consumed instanceof ConsumedCapacity capacity && capacity.capacityUnits() != null
+                ? capacity.capacityUnits()
+                : 0;
+    }
+}
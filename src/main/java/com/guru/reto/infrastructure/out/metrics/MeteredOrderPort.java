@@ -0,0 +1,118 @@
+package com.guru.reto.infrastructure.out.metrics;
+
+import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.util.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Decorador de OrderPort que mide cada método con el timer 'orders.port'.
+ * - Tags: method y outcome (SUCCESS, EMPTY si el Mono terminó sin valor, ERROR o CANCELLED).
+ * - Publica el histograma de percentiles, para calcular p95/p99 agregando instancias.
+ * - El tiempo corre desde la suscripción hasta la última señal (en los Flux, hasta el último elemento).
+ * - Si el pipeline tiene un RequestTrace en su Context, le suma la duración de cada llamada
+ *   y el orderId, para el evento de log de la solicitud.
+ * MetricsConfig lo aplica a la implementación activa (OrderAdapter o InMemoryOrderAdapter).
+ */
+@RequiredArgsConstructor
+public class MeteredOrderPort implements OrderPort {
+
+    public static final String METER = "orders.port";
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String EMPTY = "EMPTY";
+    private static final String ERROR = "ERROR";
+    private static final String CANCELLED = "CANCELLED";
+
+    private final OrderPort delegate;
+    private final MeterRegistry meterRegistry;
+
+    public Mono<List<Order>> findAll() {
+        return timed("findAll", null, delegate.findAll());
+    }
+
+    public Mono<OrderPage> findAll(int size, String token) {
+        return timed("findPage", null, delegate.findAll(size, token));
+    }
+
+    public Mono<OrderPage> findByCustomer(CustomerOrdersQuery query) {
+        return timed("findByCustomer", null, delegate.findByCustomer(query));
+    }
+
+    public Flux<Order> streamAll() {
+        return timed("streamAll", null, delegate.streamAll());
+    }
+
+    public Flux<Order> scanAll() {
+        return timed("scanAll", null, delegate.scanAll());
+    }
+
+    public Mono<Order> findId(String id) {
+        return timed("findId", id, delegate.findId(id));
+    }
+
+    public Flux<Order> findIds(List<String> ids) {
+        return timed("findIds", null, delegate.findIds(ids));
+    }
+
+    public Mono<Order> create(Order order) {
+        return timed("create", order.getOrderId(), delegate.create(order));
+    }
+
+    public Flux<OrderWriteResult> createAll(Flux<Order> orders) {
+        return timed("createAll", null, delegate.createAll(orders));
+    }
+
+    public Mono<Order> update(Order order) {
+        return timed("update", order.getOrderId(), delegate.update(order));
+    }
+
+    public Mono<OrderStats> findStats(LocalDate from, LocalDate to) {
+        return timed("findStats", null, delegate.findStats(from, to));
+    }
+
+    private <T> Mono<T> timed(String method, String orderId, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            RequestTrace trace = RequestTrace.from(context);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source
+                    .doOnSuccess(value -> stop(sample, trace, method, orderId, value == null ? EMPTY : SUCCESS))
+                    .doOnError(err -> stop(sample, trace, method, orderId, ERROR))
+                    .doOnCancel(() -> stop(sample, trace, method, orderId, CANCELLED));
+        });
+    }
+
+    private <T> Flux<T> timed(String method, String orderId, Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            RequestTrace trace = RequestTrace.from(context);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source
+                    .doOnComplete(() -> stop(sample, trace, method, orderId, SUCCESS))
+                    .doOnError(err -> stop(sample, trace, method, orderId, ERROR))
+                    .doOnCancel(() -> stop(sample, trace, method, orderId, CANCELLED));
+        });
+    }
+
+    private void stop(Timer.Sample sample, RequestTrace trace, String method, String orderId, String outcome) {
+        long nanos = sample.stop(Timer.builder(METER)
+                .description("Duración de las operaciones de OrderPort")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        if (trace != null) {
+            trace.store(nanos, orderId);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Espera entre reintentos de ítems no procesados por BatchGetItem/BatchWriteItem.
+ * Usa backoff exponencial con "full jitter" para que los lotes reintentados
+ * no vuelvan a llegar a DynamoDB todos al mismo tiempo.
+ */
+@UtilityClass
+class BatchBackoff {
+
+    static final int MAX_ATTEMPTS = 6;
+    private static final long BASE_MILLIS = 25;
+    private static final long MAX_MILLIS = 1_000;
+
+    /**
+     * @param attempt Número de reintento (0 para el primero).
+     * @return Un tiempo aleatorio entre 0 y min(MAX, BASE * 2^attempt).
+     */
+    static Duration jittered(int attempt) {
+        long ceiling = Math.min(MAX_MILLIS, BASE_MILLIS << Math.min(attempt, 16));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
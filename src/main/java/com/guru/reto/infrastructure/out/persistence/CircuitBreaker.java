@@ -0,0 +1,94 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker por fallas consecutivas:
+ * - CLOSED: deja pasar todas las llamadas y cuenta las fallas seguidas;
+ * - OPEN: al llegar a 'failureThreshold' rechaza todas durante 'openDuration';
+ * - HALF_OPEN: pasado ese tiempo deja pasar una sola llamada de prueba; si responde
+ *   vuelve a CLOSED y si falla vuelve a OPEN.
+ * Sin locks: el estado se deriva de 'openUntil' (0 = cerrado) y del permiso de prueba.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long openUntil;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return true si la llamada puede pasar; en ese caso debe terminar con
+     * onSuccess, onFailure u onCancel.
+     */
+    boolean tryAcquire() {
+        long until = openUntil;
+        if (until == 0) {
+            return true;
+        }
+        return System.nanoTime() - until >= 0 && probing.compareAndSet(false, true);
+    }
+
+    /**
+     * La persistencia respondió (aunque sea con un error de negocio, como un conflicto).
+     */
+    void onSuccess() {
+        failures.set(0);
+        if (openUntil != 0) {
+            openUntil = 0;
+            probing.set(false);
+        }
+    }
+
+    /**
+     * La persistencia no respondió o respondió con un error propio (5xx, timeout, conexión).
+     */
+    void onFailure() {
+        if (openUntil != 0) {
+            open();
+        } else if (failures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * La llamada se canceló antes de terminar: libera el permiso de prueba sin cambiar el estado.
+     */
+    void onCancel() {
+        if (openUntil != 0) {
+            probing.set(false);
+        }
+    }
+
+    State state() {
+        long until = openUntil;
+        if (until == 0) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - until < 0 ? State.OPEN : State.HALF_OPEN;
+    }
+
+    /**
+     * @return Cuánto falta para admitir la llamada de prueba (cero si ya se admite).
+     */
+    Duration remainingOpen() {
+        long until = openUntil;
+        return until == 0 ? Duration.ZERO : Duration.ofNanos(Math.max(until - System.nanoTime(), 0));
+    }
+
+    private void open() {
+        openUntil = System.nanoTime() + openNanos;
+        failures.set(0);
+        probing.set(false);
+    }
+}
@@ -0,0 +1,177 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.OrderStoreUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capa de resiliencia de las llamadas de OrderAdapter a DynamoDB (GetItem, PutItem, UpdateItem, Query).
+ * - Throttling (ProvisionedThroughputExceeded, RequestLimitExceeded, ThrottlingException): se reintenta
+ *   con "decorrelated jitter" (espera aleatoria entre base y 3 veces la anterior, con tope), hasta
+ *   'db_retry_max_attempts' intentos. Actúa después de los reintentos cortos del propio SDK.
+ * - Presupuesto de reintentos: cada llamada exitosa deposita 'db_retry_budget_ratio' fichas (hasta
+ *   'db_retry_budget_tokens') y cada reintento gasta una, así los reintentos nunca superan esa
+ *   fracción del tráfico y no agravan un throttling sostenido.
+ * - Circuit breaker: tras 'db_breaker_failure_threshold' fallas seguidas de la persistencia (5xx,
+ *   timeouts, conexión) rechaza las llamadas durante 'db_breaker_open_ms' sin esperar al SDK.
+ *   El throttling y los errores de negocio (condiciones, validación) no cuentan como fallas.
+ * Si el throttling persiste, el circuito está abierto o la llamada falla por el servicio (5xx), un timeout
+ * o la conexión, falla con OrderStoreUnavailableException (ver translate).
+ * Métricas: dynamodb.retries y dynamodb.retries.denied (tag operation), dynamodb.circuit.state
+ * (0 cerrado, 1 abierto, 2 semiabierto) y dynamodb.circuit.rejected.
+ */
+@Slf4j
+@Component
+@Profile("!local")
+public class DynamoDbResilience {
+
+    public static final String METER_RETRIES = "dynamodb.retries";
+    public static final String METER_RETRIES_DENIED = "dynamodb.retries.denied";
+    public static final String METER_CIRCUIT_STATE = "dynamodb.circuit.state";
+    public static final String METER_CIRCUIT_REJECTED = "dynamodb.circuit.rejected";
+
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final int maxAttempts;
+    private final long baseMillis;
+    private final long maxBackoffMillis;
+    private final TokenBudget budget;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> denied = new ConcurrentHashMap<>();
+
+    public DynamoDbResilience(@Value("${spring.properties.db_retry_max_attempts}") int maxAttempts,
+                              @Value("${spring.properties.db_retry_base_ms}") long baseMillis,
+                              @Value("${spring.properties.db_retry_max_backoff_ms}") long maxBackoffMillis,
+                              @Value("${spring.properties.db_retry_budget_ratio}") double budgetRatio,
+                              @Value("${spring.properties.db_retry_budget_tokens}") int budgetTokens,
+                              @Value("${spring.properties.db_breaker_failure_threshold}") int failureThreshold,
+                              @Value("${spring.properties.db_breaker_open_ms}") long openMillis,
+                              MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.baseMillis = Math.max(baseMillis, 1);
+        this.maxBackoffMillis = Math.max(maxBackoffMillis, this.baseMillis);
+        this.budget = new TokenBudget(budgetRatio, budgetTokens);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMillis));
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder(METER_CIRCUIT_REJECTED)
+                .description("Llamadas a DynamoDB rechazadas por el circuit breaker")
+                .register(meterRegistry);
+        Gauge.builder(METER_CIRCUIT_STATE, circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Estado del circuit breaker de DynamoDB (0 cerrado, 1 abierto, 2 semiabierto)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una llamada a DynamoDB con reintentos y circuit breaker.
+     * @param operation Nombre de la operación (tag de las métricas).
+     * @param call      La llamada; debe ser perezosa (Mono.fromCompletionStage con Supplier),
+     *                  ya que cada reintento se suscribe de nuevo.
+     * @return El resultado de la llamada, o OrderStoreUnavailableException si no se pudo atender.
+     */
+    public <T> Mono<T> call(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new OrderStoreUnavailableException(false, retryAfter(circuitBreaker.remainingOpen())));
+            }
+            return attempt(operation, call, 1, baseMillis)
+                    .doOnCancel(circuitBreaker::onCancel)
+                    .onErrorMap(DynamoDbResilience::translate);
+        });
+    }
+
+    private <T> Mono<T> attempt(String operation, Mono<T> call, int attempt, long previousMillis) {
+        return call
+                .doOnSuccess(result -> {
+                    circuitBreaker.onSuccess();
+                    budget.deposit();
+                })
+                .onErrorResume(err -> {
+                    if (!isThrottling(err)) {
+                        if (isStoreFailure(err)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                        return Mono.error(err);
+                    }
+                    long backoff = decorrelatedJitter(previousMillis);
+                    if (attempt >= maxAttempts || !budget.tryWithdraw()) {
+                        circuitBreaker.onSuccess();
+                        counter(denied, METER_RETRIES_DENIED, operation).increment();
+                        log.warn("DynamoDbResilience {}: throttling sin reintentos disponibles ({} intentos)",
+                                operation, attempt);
+                        return Mono.error(new OrderStoreUnavailableException(true, retryAfter(Duration.ofMillis(backoff))));
+                    }
+                    counter(retries, METER_RETRIES, operation).increment();
+                    return Mono.delay(Duration.ofMillis(backoff))
+                            .then(attempt(operation, call, attempt + 1, backoff));
+                });
+    }
+
+    /**
+     * Decorrelated jitter: aleatorio entre base y 3 veces la espera anterior, con tope.
+     */
+    private long decorrelatedJitter(long previousMillis) {
+        long ceiling = Math.min(maxBackoffMillis, previousMillis * 3);
+        return ceiling <= baseMillis ? baseMillis : ThreadLocalRandom.current().nextLong(baseMillis, ceiling + 1);
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, key -> Counter.builder(name)
+                .tag("operation", key)
+                .register(meterRegistry));
+    }
+
+    private static Duration retryAfter(Duration wait) {
+        return wait.compareTo(MIN_RETRY_AFTER) < 0 ? MIN_RETRY_AFTER : wait;
+    }
+
+    /**
+     * Traducción de los errores de DynamoDB que no dependen de la solicitud, compartida por todas las
+     * operaciones de OrderAdapter (las que pasan por call y las de lotes o flujos que no):
+     * errores del servicio (5xx), timeouts y fallas de conexión del cliente (SdkClientException) pasan a
+     * OrderStoreUnavailableException (503 con Retry-After), con el error original como causa.
+     * El resto (condiciones, validación, excepciones de dominio) se devuelve tal cual.
+     * @param err El error de la llamada.
+     * @return El error a propagar.
+     */
+    public static Throwable translate(Throwable err) {
+        if (err instanceof SdkClientException || err instanceof AwsServiceException e && e.statusCode() >= 500) {
+            return new OrderStoreUnavailableException(false, MIN_RETRY_AFTER, err);
+        }
+        return err;
+    }
+
+    static boolean isThrottling(Throwable err) {
+        return err instanceof ProvisionedThroughputExceededException
+                || err instanceof RequestLimitExceededException
+                || err instanceof AwsServiceException e && e.isThrottlingException();
+    }
+
+    /**
+     * Fallas propias de la persistencia: errores de servidor o sin respuesta del servicio.
+     * Los 4xx (condiciones, validación) son respuestas válidas y no abren el circuito.
+     */
+    private static boolean isStoreFailure(Throwable err) {
+        return !(err instanceof AwsServiceException e) || e.statusCode() >= 500;
+    }
+}
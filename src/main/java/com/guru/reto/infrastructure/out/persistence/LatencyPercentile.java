@@ -0,0 +1,52 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentil móvil de las últimas latencias observadas.
+ * Las muestras se escriben en un buffer circular sin locks; cada RECOMPUTE_EVERY muestras,
+ * el hilo que registra la última copia el buffer, lo ordena y publica el percentil.
+ * Leer el valor es una lectura volatile; hasta juntar WARMUP_SAMPLES muestras es -1.
+ */
+class LatencyPercentile {
+
+    static final int WINDOW = 1024;
+    static final int RECOMPUTE_EVERY = 64;
+    static final int WARMUP_SAMPLES = 128;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long valueNanos = -1;
+
+    LatencyPercentile(double percentile) {
+        this.percentile = Math.min(Math.max(percentile, 0), 1);
+    }
+
+    void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % WINDOW), nanos);
+        long recorded = index + 1;
+        if (recorded >= WARMUP_SAMPLES && recorded % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(recorded, WINDOW));
+        }
+    }
+
+    /**
+     * @return El percentil en nanosegundos, o -1 si todavía no hay muestras suficientes.
+     */
+    long valueNanos() {
+        return valueNanos;
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        valueNanos = copy[(int) Math.max(0, Math.min(size - 1, Math.ceil(percentile * size) - 1))];
+    }
+}
@@ -1,104 +1,403 @@
 package com.guru.reto.infrastructure.out.persistence;
 
 import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderNotFoundException;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderWriteResult;
 import com.guru.reto.infrastructure.util.Constants;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Adaptador de Salida (Outbound Adapter).
  * Implementa la interfaz OrderPort y maneja la comunicación directa
  * con la infraestructura de base de datos (AWS DynamoDB).
  * Utiliza el cliente Asíncrono Mejorado de DynamoDB.
+ * Los métodos no cambian de Scheduler: el cliente asíncrono no bloquea, así que cada
+ * pipeline continúa en el hilo que completa la respuesta del SDK (ver DynamoDbConfig).
+ * Las llamadas de una sola orden y las páginas pasan por DynamoDbResilience (reintentos
+ * del throttling y circuit breaker); los errores se traducen a las excepciones de dominio
+ * (las fallas del servicio, timeouts y conexión con DynamoDbResilience.translate en todas las operaciones).
  */
 @Slf4j
 @Repository
-@AllArgsConstructor
+@Profile("!local")
 public class OrderAdapter implements OrderPort {
 
+    private static final String CUSTOMER_ATTRIBUTE = "customerId";
+
+    /**
+     * Ítems que cada segmento puede adelantar antes de que el consumidor los pida.
+     * Acota la memoria del Scan paralelo a (segmentos activos x prefetch).
+     */
+    private static final int SCAN_PREFETCH = 128;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
     private final DynamoDbAsyncTable<Order> orderTable;
+    private final OrderBatchReader orderBatchReader;
+    private final OrderBatchWriter orderBatchWriter;
+    private final OrderCache orderCache;
+    private final DynamoDbResilience resilience;
+    private final ReadHedging readHedging;
+    private final OrderStatsCounters statsCounters;
+    private final int scanSegments;
+    private final int scanConcurrency;
+    private final boolean readCoalescing;
+
+    public OrderAdapter(DynamoDbAsyncClient dynamoDbAsyncClient,
+                        DynamoDbAsyncTable<Order> orderTable,
+                        OrderBatchReader orderBatchReader,
+                        OrderBatchWriter orderBatchWriter,
+                        OrderCache orderCache,
+                        DynamoDbResilience resilience,
+                        ReadHedging readHedging,
+                        OrderStatsCounters statsCounters,
+                        @Value("${spring.properties.db_scan_segments}") int scanSegments,
+                        @Value("${spring.properties.db_scan_concurrency}") int scanConcurrency,
+                        @Value("${spring.properties.db_read_coalescing}") boolean readCoalescing) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.orderTable = orderTable;
+        this.orderBatchReader = orderBatchReader;
+        this.orderBatchWriter = orderBatchWriter;
+        this.orderCache = orderCache;
+        this.resilience = resilience;
+        this.readHedging = readHedging;
+        this.statsCounters = statsCounters;
+        this.scanSegments = Math.max(scanSegments, 1);
+        this.scanConcurrency = Math.min(Math.max(scanConcurrency, 1), this.scanSegments);
+        this.readCoalescing = readCoalescing;
+    }
 
     /**
-     * Busca todas las órdenes (limitado a 10) con estado 'REGISTRADO'.
-     * @return Un Flux (reactivo) que emite las órdenes y se colecta en una Lista.
+     * Busca la primera página de órdenes con estado 'REGISTRADO'.
+     * @return Un Mono con la lista de órdenes de la primera página.
      */
     public Mono<List<Order>> findAll() {
-        return Flux.from(orderTable.scan().items().limit(10)
-                        .filter(order -> StringUtils.isNotEmpty(order.getStatus()) && order.getStatus().equals(Constants.STATUS_REGISTRATION)))
-                .collectList()
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(rst -> log.info("Success OrderAdapter.findAll"))
+        return findAll(Constants.DEFAULT_PAGE_SIZE, null)
+                .map(OrderPage::items);
+    }
+
+    /**
+     * Busca una página de órdenes con estado 'REGISTRADO', de la más reciente a la más antigua.
+     * Consulta el índice por estado (Query), por lo que solo se leen (y pagan)
+     * los ítems que se devuelven, sin importar el tamaño de la tabla.
+     * Cada orden viene sin 'items', con sus totales (OrderSchemas.SUMMARY_ATTRIBUTES).
+     * @param size  Cantidad de órdenes por página.
+     * @param token Token de continuación de la página anterior (null para la primera).
+     * @return Un Mono con la página de órdenes y el token de la siguiente.
+     */
+    public Mono<OrderPage> findAll(int size, String token) {
+        return Mono.fromCallable(() -> QueryEnhancedRequest.builder()
+                        .queryConditional(QueryConditional.keyEqualTo(Key.builder()
+                                .partitionValue(Constants.STATUS_REGISTRATION)
+                                .build()))
+                        .scanIndexForward(false)
+                        .attributesToProject(OrderSchemas.SUMMARY_ATTRIBUTES)
+                        .limit(size)
+                        .exclusiveStartKey(PageToken.decode(token, indexKeys(Constants.INDEX_STATUS)))
+                        .build())
+                .flatMap(request -> resilience.call("Query",
+                        collectPage(orderTable.index(Constants.INDEX_STATUS).query(request),
+                                size, indexKeys(Constants.INDEX_STATUS))))
                 .doOnError(err -> log.error("Error OrderAdapter.findAll: {}", err.getMessage()));
     }
 
+    /**
+     * Recorre todas las órdenes con estado 'REGISTRADO' (de la más reciente a la más antigua)
+     * sobre el índice por estado. Cada página se pide a DynamoDB recién cuando el consumidor
+     * terminó con la anterior, así la memoria no depende de la cantidad de órdenes.
+     * Como en findAll, cada orden viene sin 'items'.
+     * @return Un Flux con las órdenes registradas.
+     */
+    public Flux<Order> streamAll() {
+        return Flux.from(orderTable.index(Constants.INDEX_STATUS).query(QueryEnhancedRequest.builder()
+                        .queryConditional(QueryConditional.keyEqualTo(Key.builder()
+                                .partitionValue(Constants.STATUS_REGISTRATION)
+                                .build()))
+                        .scanIndexForward(false)
+                        .attributesToProject(OrderSchemas.SUMMARY_ATTRIBUTES)
+                        .build()))
+                .concatMapIterable(Page::items, 1)
+                .onErrorMap(DynamoDbResilience::translate)
+                .doOnError(err -> log.error("Error OrderAdapter.streamAll: {}", err.getMessage()));
+    }
+
+    /**
+     * Página del historial de un cliente, con un Query sobre el índice 'customerId-orderDate-index'.
+     * Los límites de fecha se comparan como texto sobre orderDate (ISO-8601 en UTC):
+     * 'yyyy-MM-dd' del primer día <= orderDate < 'yyyy-MM-dd' del día siguiente al último.
+     * Como findAll, las órdenes vienen sin items y el token es la clave de la última devuelta;
+     * un token de otro cliente se rechaza.
+     * @param query El cliente, los límites, el orden y la paginación.
+     * @return Un Mono con la página, o IllegalArgumentException si el token no es válido.
+     */
+    public Mono<OrderPage> findByCustomer(CustomerOrdersQuery query) {
+        Collection<String> keyAttributes = indexKeys(Constants.INDEX_CUSTOMER);
+        return Mono.fromCallable(() -> QueryEnhancedRequest.builder()
+                        .queryConditional(customerConditional(query))
+                        .scanIndexForward(query.ascending())
+                        .attributesToProject(OrderSchemas.SUMMARY_ATTRIBUTES)
+                        .limit(query.size())
+                        .exclusiveStartKey(customerStartKey(query, keyAttributes))
+                        .build())
+                .flatMap(request -> resilience.call("Query",
+                        collectPage(orderTable.index(Constants.INDEX_CUSTOMER).query(request), query.size(), keyAttributes)))
+                .doOnError(err -> log.error("Error OrderAdapter.findByCustomer: {} - {}", query.customerId(), err.getMessage()));
+    }
+
+    /**
+     * Lee la tabla completa con un Scan paralelo (segment / totalSegments).
+     * Cada segmento es un Flux independiente que pide páginas a DynamoDB a medida que
+     * el consumidor demanda ítems; se combinan con una concurrencia acotada, de modo que
+     * el rendimiento escala con los segmentos sin cargar la tabla en memoria.
+     * @return Un Flux con todas las órdenes de la tabla (sin orden garantizado).
+     */
+    public Flux<Order> scanAll() {
+        return Flux.range(0, scanSegments)
+                .flatMap(segment -> Flux.from(orderTable.scan(ScanEnhancedRequest.builder()
+                                        .segment(segment)
+                                        .totalSegments(scanSegments)
+                                        .build())
+                                .items()),
+                        scanConcurrency, SCAN_PREFETCH)
+                .onErrorMap(DynamoDbResilience::translate)
+                .doOnError(err -> log.error("Error OrderAdapter.scanAll: {}", err.getMessage()));
+    }
+
     /**
      * Busca una orden por su Clave de Partición (ID).
+     * Pasa primero por OrderCache (si está activa); con 'db_read_coalescing' activo,
+     * las lecturas concurrentes que no están en caché se agrupan en un BatchGetItem y,
+     * si no, cada getItem lento se cubre con una segunda lectura (ReadHedging, 'db_hedge_enabled').
      * @param id El orderId.
      * @return Un Mono<Order> o Mono.empty() si no se encuentra.
      */
     public Mono<Order> findId(String id) {
-        return Mono.just(id)
-                .map(key -> Key.builder().partitionValue(id).build())
-                .flatMap(key -> Mono.fromCompletionStage(orderTable.getItem(key)))
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(rst -> log.info("Success OrderAdapter.findId: {}", id))
+        return orderCache.get(id, this::readId)
                 .doOnError(err -> log.error("Error OrderAdapter.findId: {} - {}", id, err.getMessage()));
     }
 
     /**
-     * Guarda una nueva entidad Order en DynamoDB.
+     * Busca varias órdenes por ID con BatchGetItem (lotes de 100 claves).
+     * @param ids Los orderId a buscar.
+     * @return Un Flux con las órdenes encontradas.
+     */
+    public Flux<Order> findIds(List<String> ids) {
+        return orderBatchReader.findIds(ids)
+                .onErrorMap(DynamoDbResilience::translate)
+                .doOnError(err -> log.error("Error OrderAdapter.findIds: {}", err.getMessage()));
+    }
+
+    /**
+     * Guarda una nueva entidad Order en DynamoDB, con los totales recalculados desde sus items.
      * @param order El objeto de dominio a persistir.
-     * @return El objeto guardado (con el estado actualizado).
+     * @return El objeto guardado (con el estado actualizado); OrderConflictException si el ID
+     * ya existe, OrderStoreUnavailableException si DynamoDB no puede atenderla.
      */
     public Mono<Order> create(Order order) {
-        return Mono.just(order.toBuilder().status(Constants.STATUS_REGISTRATION).build())
-                .flatMap(body -> Mono.fromCompletionStage(orderTable.putItem(body))
-                        .onErrorResume(err -> Mono.error(new Throwable(Constants.MSG_ORDER_NOT_PROCESSED))))
-                .thenReturn(order.toBuilder().status(Constants.STATUS_REGISTRATION).build())
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(rst -> log.info("Success OrderAdapter.create: {}", order.getOrderId()))
+        return Mono.fromCallable(() -> order.toBuilder().status(Constants.STATUS_REGISTRATION).build().computeTotals())
+                .flatMap(body -> resilience.call("PutItem", Mono.fromCompletionStage(() -> orderTable.putItem(body)))
+                        .onErrorMap(err -> createError(order, err))
+                        .thenReturn(body))
+                .doOnSuccess(saved -> {
+                    orderCache.invalidate(order.getOrderId());
+                    statsCounters.recordCreated(saved);
+                })
                 .doOnError(err -> log.error("Error OrderAdapter.create: {} - {}", order.getOrderId(), err.getMessage()));
     }
 
     /**
-     * Actualiza una orden existente en DynamoDB.
-     * Utiliza un patrón de "leer y luego escribir" (Read-Then-Write) para fusionar campos.
+     * Guarda varias órdenes nuevas con BatchWriteItem (lotes de 25 ítems), con sus totales.
+     * @param orders Las órdenes a persistir.
+     * @return Un Flux con el resultado de cada orden (guardada o con su error).
+     */
+    public Flux<OrderWriteResult> createAll(Flux<Order> orders) {
+        return orderBatchWriter.createAll(orders
+                        .map(order -> order.toBuilder().status(Constants.STATUS_REGISTRATION).build().computeTotals()))
+                .doOnNext(result -> {
+                    orderCache.invalidate(result.order().getOrderId());
+                    if (result.isWritten()) {
+                        statsCounters.recordCreated(result.order());
+                    }
+                })
+                .onErrorMap(DynamoDbResilience::translate)
+                .doOnError(err -> log.error("Error OrderAdapter.createAll: {}", err.getMessage()));
+    }
+
+    /**
+     * Actualiza una orden existente en DynamoDB con un único UpdateItem.
+     * Solo se escriben los campos no nulos (más la fecha de actualización; si cambian los items,
+     * también sus totales), la versión
+     * se incrementa en la misma operación y la condición attribute_exists evita
+     * crear la orden si no existe. Si la orden trae versión, además exige que sea la guardada.
+     * Cuando la condición falla, DynamoDB devuelve el ítem actual (ALL_OLD) y con él se decide:
+     * - no existe: OrderNotFoundException;
+     * - ya tiene los valores pedidos (p. ej. la misma actualización reenviada tras perder la
+     *   respuesta): se devuelve la orden guardada;
+     * - cambió por otra solicitud: OrderConflictException con la versión actual.
+     * Si cambia el estado, se pide el ítem anterior (ALL_OLD) para contar la transición en
+     * OrderStatsCounters y la orden resultante se arma aplicándole los cambios.
      * @param order El objeto de dominio con los campos a actualizar.
-     * @return El objeto actualizado.
+     * @return La orden completa tal como quedó guardada (ReturnValues.ALL_NEW).
      */
     public Mono<Order> update(Order order) {
-        return Mono.just(order)
-                .map(body -> Key.builder().partitionValue(body.getOrderId()).build())
-                .flatMap(id -> Mono.fromCompletionStage(orderTable.getItem(id))
-                        .switchIfEmpty(Mono.error(new Throwable(Constants.MSG_ORDER_NOT_PROCESSED))))
-                .map(orderCurrent -> UpdateItemEnhancedRequest.builder(Order.class)
-                        .item(orderCurrent.toBuilder()
-                                .customerId(StringUtils.isNotEmpty(order.getCustomerId()) ? order.getCustomerId() : orderCurrent.getCustomerId())
-                                .address(StringUtils.isNotEmpty(order.getAddress()) ? order.getAddress() : orderCurrent.getAddress())
-                                .orderDate(orderCurrent.getOrderDate())
-                                .orderUpdate(Instant.now())
-                                .version(orderCurrent.getVersion())
-                                .status(orderCurrent.getStatus())
-                                .items(orderCurrent.getItems())
-                                .build())
-                        .build())
-                .flatMap(body -> Mono.fromCompletionStage(orderTable.updateItem(body))
-                        .switchIfEmpty(Mono.error(new Throwable(Constants.MSG_ORDER_NOT_PROCESSED))))
-                .thenReturn(order)
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(rst -> log.info("Success OrderAdapter.update: {}", order.getOrderId()))
+        boolean statusChange = order.getStatus() != null;
+        return Mono.fromCallable(() -> order.toBuilder().orderUpdate(Instant.now()).build().computeTotals())
+                .flatMap(changes -> resilience.call("UpdateItem", Mono.fromCompletionStage(() ->
+                                dynamoDbAsyncClient.updateItem(UpdateExpressions.partialUpdate(orderTable.tableName(),
+                                        orderTable.tableSchema(), changes, statusChange ? ReturnValue.ALL_OLD : ReturnValue.ALL_NEW))))
+                        .map(response -> statusChange
+                                ? recordTransition(changes, response.attributes())
+                                : orderTable.tableSchema().mapToItem(response.attributes())))
+                .onErrorResume(ConditionalCheckFailedException.class, err -> resolveConflict(order, err))
+                .doOnNext(orderCache::put)
                 .doOnError(err -> log.error("Error OrderAdapter.update: {} - {}", order.getOrderId(), err.getMessage()));
     }
+
+    /**
+     * Estadísticas de órdenes desde los contadores de OrderStatsCounters (sin leer la tabla de órdenes).
+     * @param from Primer día (UTC) de las estadísticas por día.
+     * @param to   Último día (UTC), inclusive.
+     * @return Un Mono con las órdenes por estado y por día.
+     */
+    public Mono<OrderStats> findStats(LocalDate from, LocalDate to) {
+        return statsCounters.read(from, to)
+                .doOnError(err -> log.error("Error OrderAdapter.findStats: {}", err.getMessage()));
+    }
+
+    /**
+     * Cuenta el cambio de estado de una actualización y devuelve la orden actualizada.
+     * @param changes  Los cambios enviados en el UpdateItem.
+     * @param previous El ítem anterior (ALL_OLD).
+     */
+    private Order recordTransition(Order changes, Map<String, AttributeValue> previous) {
+        TableSchema<Order> schema = orderTable.tableSchema();
+        Order updated = schema.mapToItem(UpdateExpressions.applyTo(schema, changes, previous));
+        statsCounters.recordStatusChange(schema.mapToItem(previous).getStatus(), updated.getStatus());
+        return updated;
+    }
+
+    /**
+     * Lectura de una orden en DynamoDB (agrupada en un BatchGetItem o con getItem).
+     * El getItem puede ir acompañado de una lectura de cobertura (ReadHedging).
+     */
+    private Mono<Order> readId(String id) {
+        if (readCoalescing) {
+            return orderBatchReader.load(id);
+        }
+        Key key = Key.builder().partitionValue(id).build();
+        return resilience.call("GetItem",
+                readHedging.read(() -> Mono.fromCompletionStage(() -> orderTable.getItem(key))));
+    }
+
+    /**
+     * Decide el resultado de un UpdateItem cuya condición falló, con el ítem devuelto por DynamoDB.
+     */
+    private Mono<Order> resolveConflict(Order order, ConditionalCheckFailedException err) {
+        if (!err.hasItem() || err.item().isEmpty()) {
+            return Mono.error(new OrderNotFoundException(order.getOrderId()));
+        }
+        if (UpdateExpressions.isApplied(orderTable.tableSchema(), order, err.item())) {
+            return Mono.just(orderTable.tableSchema().mapToItem(err.item()));
+        }
+        Order current = orderTable.tableSchema().mapToItem(err.item());
+        return Mono.error(new OrderConflictException(order.getOrderId(), current.getVersion()));
+    }
+
+    /**
+     * Error de create: el ID ya existe (condición del putItem versionado) es un conflicto.
+     * El resto ya viene traducido por DynamoDbResilience (OrderStoreUnavailableException si
+     * DynamoDB no puede atenderla) y pasa tal cual, con su causa.
+     */
+    private static Throwable createError(Order order, Throwable err) {
+        if (err instanceof ConditionalCheckFailedException) {
+            return new OrderConflictException(order.getOrderId(), null);
+        }
+        return err;
+    }
+
+    /**
+     * Lee páginas físicas hasta completar una página de la API y cancela el resto.
+     */
+    private Mono<OrderPage> collectPage(SdkPublisher<Page<Order>> pages, int size, Collection<String> keyAttributes) {
+        return Mono.defer(() -> {
+            OrderPageCollector collector = new OrderPageCollector(size,
+                    order -> orderTable.tableSchema().itemToMap(order, keyAttributes));
+            return Flux.from(pages)
+                    .takeUntil(collector::add)
+                    .then(Mono.fromSupplier(collector::toPage));
+        });
+    }
+
+    private static QueryConditional customerConditional(CustomerOrdersQuery query) {
+        String customerId = query.customerId();
+        if (query.from() != null && query.to() != null) {
+            return QueryConditional.sortBetween(customerKey(customerId, query.from()), customerKey(customerId, query.to().plusDays(1)));
+        }
+        if (query.from() != null) {
+            return QueryConditional.sortGreaterThanOrEqualTo(customerKey(customerId, query.from()));
+        }
+        if (query.to() != null) {
+            return QueryConditional.sortLessThan(customerKey(customerId, query.to().plusDays(1)));
+        }
+        return QueryConditional.keyEqualTo(Key.builder().partitionValue(customerId).build());
+    }
+
+    /**
+     * Clave del índice por cliente con el día como límite: ningún orderDate guardado es igual
+     * a 'yyyy-MM-dd' (siempre lleva la hora), así sortBetween no incluye el día siguiente.
+     */
+    private static Key customerKey(String customerId, LocalDate day) {
+        return Key.builder()
+                .partitionValue(customerId)
+                .sortValue(day.toString())
+                .build();
+    }
+
+    private static Map<String, AttributeValue> customerStartKey(CustomerOrdersQuery query, Collection<String> keyAttributes) {
+        Map<String, AttributeValue> startKey = PageToken.decode(query.token(), keyAttributes);
+        if (startKey != null && !query.customerId().equals(startKey.get(CUSTOMER_ATTRIBUTE).s())) {
+            throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN);
+        }
+        return startKey;
+    }
+
+    /**
+     * Atributos que forman el LastEvaluatedKey de un índice: la clave de la tabla más la del índice.
+     */
+    private Collection<String> indexKeys(String indexName) {
+        TableMetadata metadata = orderTable.tableSchema().tableMetadata();
+        Set<String> keys = new LinkedHashSet<>(metadata.primaryKeys());
+        keys.addAll(metadata.indexKeys(indexName));
+        return keys;
+    }
 }
@@ -0,0 +1,165 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas por lote de órdenes con BatchGetItem.
+ * Además de la lectura explícita de varias claves, agrupa las lecturas individuales
+ * (findId) que llegan dentro de una ventana corta en un único BatchGetItem,
+ * al estilo de DataLoader.
+ */
+@Slf4j
+@Component
+@Profile("!local")
+public class OrderBatchReader {
+
+    /**
+     * Límite de claves por llamada a BatchGetItem impuesto por DynamoDB.
+     */
+    static final int MAX_BATCH_GET = 100;
+    private static final int BATCH_CONCURRENCY = 4;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DynamoDbAsyncTable<Order> orderTable;
+    private final long windowMillis;
+
+    private final Object lock = new Object();
+    private Map<String, List<MonoSink<Order>>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    public OrderBatchReader(DynamoDbAsyncClient dynamoDbAsyncClient,
+                            DynamoDbAsyncTable<Order> orderTable,
+                            @Value("${spring.properties.db_read_coalescing_window_ms}") long windowMillis) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.orderTable = orderTable;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Lee varias órdenes por ID en lotes de 100 claves (sin duplicados).
+     * Las claves que DynamoDB devuelve como no procesadas se reintentan con backoff.
+     * @param ids Los IDs a buscar.
+     * @return Un Flux con las órdenes encontradas (en cualquier orden).
+     */
+    public Flux<Order> findIds(Collection<String> ids) {
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+                .map(this::keyOf)
+                .buffer(MAX_BATCH_GET)
+                .flatMap(keys -> batchGet(keys, 0), BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Lectura individual agrupada: la solicitud espera a lo sumo la ventana configurada
+     * (o a que se junten 100 IDs) y se resuelve con el resultado del lote.
+     * @param id El orderId.
+     * @return Un Mono<Order> o Mono.empty() si no se encuentra.
+     */
+    public Mono<Order> load(String id) {
+        return Mono.create(sink -> enqueue(id, sink));
+    }
+
+    private void enqueue(String id, MonoSink<Order> sink) {
+        Map<String, List<MonoSink<Order>>> ready = null;
+        synchronized (lock) {
+            pending.computeIfAbsent(id, key -> new ArrayList<>(1)).add(sink);
+            if (pending.size() >= MAX_BATCH_GET) {
+                ready = drain();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                Schedulers.parallel().schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+
+    private void flush() {
+        Map<String, List<MonoSink<Order>>> ready;
+        synchronized (lock) {
+            flushScheduled = false;
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            dispatch(ready);
+        }
+    }
+
+    private Map<String, List<MonoSink<Order>>> drain() {
+        Map<String, List<MonoSink<Order>>> ready = pending;
+        pending = new LinkedHashMap<>();
+        return ready;
+    }
+
+    /**
+     * Ejecuta un lote agrupado y entrega a cada solicitante su orden (o vacío).
+     */
+    private void dispatch(Map<String, List<MonoSink<Order>>> batch) {
+        batchGet(batch.keySet().stream().map(this::keyOf).toList(), 0)
+                .collectMap(Order::getOrderId)
+                .subscribe(found -> batch.forEach((id, sinks) -> {
+                            Order order = found.get(id);
+                            sinks.forEach(sink -> {
+                                if (order == null) {
+                                    sink.success();
+                                } else {
+                                    sink.success(order);
+                                }
+                            });
+                        }),
+                        err -> batch.values().forEach(sinks -> sinks.forEach(sink -> sink.error(err))));
+    }
+
+    /**
+     * Una llamada a BatchGetItem; las claves no procesadas se vuelven a pedir
+     * tras una espera con jitter, hasta MAX_ATTEMPTS intentos.
+     */
+    private Flux<Order> batchGet(List<Map<String, AttributeValue>> keys, int attempt) {
+        String tableName = orderTable.tableName();
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+                .requestItems(Map.of(tableName, KeysAndAttributes.builder().keys(keys).build()))
+                .build();
+        return Mono.fromCompletionStage(() -> dynamoDbAsyncClient.batchGetItem(request))
+                .flatMapMany(response -> {
+                    Flux<Order> found = Flux.fromIterable(response.responses().getOrDefault(tableName, List.of()))
+                            .map(orderTable.tableSchema()::mapToItem);
+                    KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+                    if (unprocessed == null || unprocessed.keys().isEmpty()) {
+                        return found;
+                    }
+                    if (attempt + 1 >= BatchBackoff.MAX_ATTEMPTS) {
+                        log.error("Error OrderBatchReader.batchGet: {} claves sin procesar", unprocessed.keys().size());
+                        return found.concatWith(Mono.error(new IllegalStateException(Constants.MSG_ORDER_NOT_PROCESSED)));
+                    }
+                    return found.concatWith(Mono.delay(BatchBackoff.jittered(attempt))
+                            .thenMany(Flux.defer(() -> batchGet(unprocessed.keys(), attempt + 1))));
+                });
+    }
+
+    private Map<String, AttributeValue> keyOf(String id) {
+        return Key.builder().partitionValue(id).build().primaryKeyMap(orderTable.tableSchema());
+    }
+}
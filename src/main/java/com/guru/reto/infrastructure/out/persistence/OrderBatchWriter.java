@@ -0,0 +1,151 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Escrituras por lote de órdenes nuevas con BatchWriteItem.
+ * Reparte las órdenes en lotes de 25 (límite de DynamoDB), envía varios lotes a la vez
+ * y reintenta con backoff los ítems que DynamoDB devuelve como no procesados.
+ * Cada orden termina con su propio resultado, por lo que un ítem fallido no
+ * invalida al resto del lote.
+ */
+@Slf4j
+@Component
+@Profile("!local")
+public class OrderBatchWriter {
+
+    /**
+     * Límite de ítems por llamada a BatchWriteItem impuesto por DynamoDB.
+     */
+    static final int MAX_BATCH_WRITE = 25;
+
+    /**
+     * Versión inicial: BatchWriteItem no pasa por VersionedRecordExtension,
+     * así que se fija a mano el mismo valor que pondría putItem.
+     */
+    private static final long INITIAL_VERSION = 1L;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DynamoDbAsyncTable<Order> orderTable;
+    private final int concurrency;
+
+    public OrderBatchWriter(DynamoDbAsyncClient dynamoDbAsyncClient,
+                            DynamoDbAsyncTable<Order> orderTable,
+                            @Value("${spring.properties.db_bulk_concurrency}") int concurrency) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.orderTable = orderTable;
+        this.concurrency = Math.max(concurrency, 1);
+    }
+
+    /**
+     * Guarda órdenes nuevas en lotes de 25.
+     * Los IDs son generados por el servicio, por lo que no se necesita la condición
+     * de no existencia que BatchWriteItem no soporta.
+     * @param orders Las órdenes a guardar (ya con estado 'REGISTRADO').
+     * @return Un Flux con el resultado de cada orden (en cualquier orden).
+     */
+    public Flux<OrderWriteResult> createAll(Flux<Order> orders) {
+        return orders
+                .map(order -> order.toBuilder().version(INITIAL_VERSION).build())
+                .buffer(MAX_BATCH_WRITE)
+                .flatMap(this::writeChunk, concurrency);
+    }
+
+    /**
+     * Escribe un lote. Si DynamoDB rechaza el lote completo por un ítem inválido
+     * (ej. tamaño), se reintenta ítem por ítem para aislar al que falla.
+     */
+    private Flux<OrderWriteResult> writeChunk(List<Order> chunk) {
+        TableSchema<Order> schema = orderTable.tableSchema();
+        List<WriteRequest> requests = chunk.stream()
+                .map(order -> WriteRequest.builder()
+                        .putRequest(PutRequest.builder().item(schema.itemToMap(order, true)).build())
+                        .build())
+                .toList();
+        return batchWrite(requests, 0)
+                .flatMapIterable(unprocessed -> chunk.stream()
+                        .map(order -> unprocessed.contains(order.getOrderId())
+                                ? OrderWriteResult.failed(order, Constants.MSG_ORDER_NOT_PROCESSED)
+                                : OrderWriteResult.written(order))
+                        .toList())
+                .onErrorResume(OrderBatchWriter::isItemError, err -> Flux.fromIterable(chunk).flatMap(this::putOne))
+                .onErrorResume(err -> {
+                    log.error("Error OrderBatchWriter.writeChunk: {}", err.getMessage());
+                    return Flux.fromIterable(chunk)
+                            .map(order -> OrderWriteResult.failed(order, Constants.MSG_ORDER_NOT_PROCESSED));
+                });
+    }
+
+    /**
+     * Una llamada a BatchWriteItem; los ítems no procesados se vuelven a enviar
+     * tras una espera con jitter, hasta MAX_ATTEMPTS intentos.
+     * @return Los IDs que siguen sin procesar al agotar los intentos.
+     */
+    private Mono<Set<String>> batchWrite(List<WriteRequest> requests, int attempt) {
+        String tableName = orderTable.tableName();
+        BatchWriteItemRequest request = BatchWriteItemRequest.builder()
+                .requestItems(Map.of(tableName, requests))
+                .build();
+        return Mono.fromCompletionStage(() -> dynamoDbAsyncClient.batchWriteItem(request))
+                .flatMap(response -> {
+                    List<WriteRequest> unprocessed = response.unprocessedItems().getOrDefault(tableName, List.of());
+                    if (unprocessed.isEmpty()) {
+                        return Mono.just(Set.<String>of());
+                    }
+                    if (attempt + 1 >= BatchBackoff.MAX_ATTEMPTS) {
+                        log.error("Error OrderBatchWriter.batchWrite: {} ítems sin procesar", unprocessed.size());
+                        return Mono.just(unprocessed.stream()
+                                .map(this::orderIdOf)
+                                .collect(Collectors.toSet()));
+                    }
+                    return Mono.delay(BatchBackoff.jittered(attempt))
+                            .then(Mono.defer(() -> batchWrite(unprocessed, attempt + 1)));
+                });
+    }
+
+    /**
+     * Escritura individual usada para aislar ítems inválidos. Se envía sin versión
+     * para que VersionedRecordExtension la trate como un ítem nuevo.
+     */
+    private Mono<OrderWriteResult> putOne(Order order) {
+        return Mono.fromCompletionStage(() -> orderTable.putItem(order.toBuilder().version(null).build()))
+                .thenReturn(OrderWriteResult.written(order))
+                .onErrorResume(err -> {
+                    log.error("Error OrderBatchWriter.putOne: {} - {}", order.getOrderId(), err.getMessage());
+                    return Mono.just(OrderWriteResult.failed(order, Constants.MSG_ORDER_NOT_PROCESSED));
+                });
+    }
+
+    private String orderIdOf(WriteRequest request) {
+        String partitionKey = orderTable.tableSchema().tableMetadata().primaryPartitionKey();
+        return request.putRequest().item().get(partitionKey).s();
+    }
+
+    /**
+     * Errores de validación del lote (400) que no se deben a throttling:
+     * reintentar ítem por ítem tiene sentido solo en este caso.
+     */
+    private static boolean isItemError(Throwable err) {
+        return err instanceof DynamoDbException e && e.statusCode() == 400 && !e.isThrottlingException();
+    }
+}
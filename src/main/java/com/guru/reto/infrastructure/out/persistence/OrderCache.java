@@ -0,0 +1,137 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.guru.reto.domain.Order;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria (read-through) de órdenes por ID, delante de OrderAdapter.findId.
+ * - Acotada por tamaño y con expiración (TTL) desde la escritura.
+ * - Una sola carga por ID: las lecturas concurrentes de un ID que no está en caché
+ *   esperan el mismo getItem.
+ * - Usa Order.version para que un valor viejo nunca reemplace a uno más nuevo.
+ * Como cada instancia tiene su propia caché, una orden modificada por otra instancia
+ * puede verse desactualizada hasta que expire su TTL.
+ * Como MeterBinder, Spring Boot publica sus estadísticas como métricas 'cache.*' (cache=orders).
+ */
+@Slf4j
+@Component
+@Profile("!local")
+public class OrderCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "orders";
+
+    private final boolean enabled;
+    private final AsyncCache<String, Order> cache;
+    private final Disposable statsReport;
+
+    public OrderCache(@Value("${spring.properties.db_cache_enabled}") boolean enabled,
+                      @Value("${spring.properties.db_cache_max_size}") long maxSize,
+                      @Value("${spring.properties.db_cache_ttl_s}") long ttlSeconds,
+                      @Value("${spring.properties.db_cache_stats_interval_s}") long statsIntervalSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        this.statsReport = enabled && statsIntervalSeconds > 0
+                ? Schedulers.parallel().schedulePeriodically(this::logStats,
+                        statsIntervalSeconds, statsIntervalSeconds, TimeUnit.SECONDS)
+                : null;
+    }
+
+    /**
+     * Devuelve la orden en caché o la carga con 'loader' (una sola vez por ID).
+     * Si el loader no encuentra la orden (Mono.empty) no se guarda nada.
+     * @param id     El orderId.
+     * @param loader La lectura a DynamoDB.
+     * @return Un Mono<Order> o Mono.empty() si no existe.
+     */
+    public Mono<Order> get(String id, Function<String, Mono<Order>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        // suppressCancel: si un solicitante cancela, la carga compartida sigue para los demás
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    /**
+     * Guarda la versión recién escrita de una orden, salvo que la caché ya tenga
+     * una versión más nueva. Una carga en curso para el mismo ID queda descartada.
+     * @param order La orden tal como quedó en DynamoDB.
+     */
+    public void put(Order order) {
+        if (!enabled) {
+            return;
+        }
+        cache.asMap().compute(order.getOrderId(), (id, current) ->
+                isNewer(current, order) ? current : CompletableFuture.completedFuture(order));
+    }
+
+    /**
+     * Descarta la orden de la caché.
+     * @param id El orderId.
+     */
+    public void invalidate(String id) {
+        if (enabled) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    /**
+     * Estadísticas acumuladas (aciertos, fallos, desalojos y tiempo de carga).
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @PreDestroy
+    void close() {
+        if (statsReport != null) {
+            statsReport.dispose();
+        }
+    }
+
+    private static boolean isNewer(CompletableFuture<Order> current, Order order) {
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()) {
+            return false;
+        }
+        Order cached = current.join();
+        return cached != null && cached.getVersion() != null && order.getVersion() != null
+                && cached.getVersion() > order.getVersion();
+    }
+
+    private void logStats() {
+        CacheStats stats = stats();
+        log.info("OrderCache stats: size={} hitRate={} hits={} misses={} evictions={} avgLoadMs={}",
+                size(), String.format("%.3f", stats.hitRate()), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), String.format("%.2f", stats.averageLoadPenalty() / 1_000_000.0));
+    }
+}
@@ -0,0 +1,284 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.OrderItem;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Convierte Order.items en un único atributo binario (B) en lugar de una lista (L) de mapas,
+ * donde los nombres productId/quantity/price se repiten en cada línea y pesan en el tamaño del
+ * ítem, en las unidades de escritura/lectura y en el límite de 400 KB.
+ * Formato (versión 1):
+ * - 1 byte de cabecera: versión en los 7 bits bajos; el bit alto indica que el resto va con Deflate.
+ * - Si va comprimido: varint con el largo sin comprimir y luego el bloque Deflate (sin cabecera zlib).
+ * - Cuerpo: varint con la cantidad de líneas y por cada una:
+ *   productId como varint (largo UTF-8 + 1, 0 = null) y sus bytes; quantity como varint zigzag;
+ *   price como varint zigzag de (precio * 10^4) << 1 si es exacto con 4 decimales, o la marca 1
+ *   seguida de los 8 bytes del double (así ningún precio pierde precisión).
+ * Se comprime solo desde COMPRESS_MIN_BYTES y si el resultado es menor.
+ * Al leer acepta también el formato anterior (L de mapas, vía OrderSchemas.ORDER_ITEM), así la
+ * migración es perezosa: cada orden pasa al formato binario la próxima vez que se escribe.
+ * Se usa con 'db_table_schema: compact' (OrderSchemas.ORDER_COMPACT).
+ */
+public class OrderItemsConverter implements AttributeConverter<List<OrderItem>> {
+
+    public static final OrderItemsConverter INSTANCE = new OrderItemsConverter();
+
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 0x80;
+    static final int COMPRESS_MIN_BYTES = 256;
+    private static final long PRICE_SCALE = 10_000;
+    private static final long MAX_SCALED_PRICE = 1L << 60;
+    private static final int PRICE_RAW = 1;
+
+    @Override
+    public AttributeValue transformFrom(List<OrderItem> items) {
+        if (items == null) {
+            return AttributeValue.builder().nul(true).build();
+        }
+        return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(encode(items)));
+    }
+
+    @Override
+    public List<OrderItem> transformTo(AttributeValue value) {
+        if (value.b() != null) {
+            return decode(value.b().asByteArrayUnsafe());
+        }
+        if (value.hasL()) {
+            return value.l().stream()
+                    .map(item -> OrderSchemas.ORDER_ITEM.mapToItem(item.m()))
+                    .toList();
+        }
+        return null;
+    }
+
+    @Override
+    public EnhancedType<List<OrderItem>> type() {
+        return EnhancedType.listOf(OrderItem.class);
+    }
+
+    @Override
+    public AttributeValueType attributeValueType() {
+        return AttributeValueType.B;
+    }
+
+    static byte[] encode(List<OrderItem> items) {
+        Buffer body = new Buffer(1 + items.size() * 16);
+        body.writeByte(VERSION);
+        body.writeVarint(items.size());
+        for (OrderItem item : items) {
+            writeString(body, item.getProductId());
+            body.writeVarint(zigzag(item.getQuantity()));
+            writePrice(body, item.getPrice());
+        }
+        if (body.size < COMPRESS_MIN_BYTES) {
+            return body.toByteArray();
+        }
+        byte[] compressed = deflate(body.bytes, 1, body.size - 1);
+        int rawLength = body.size - 1;
+        Buffer out = new Buffer(compressed.length + 6);
+        out.writeByte(VERSION | FLAG_DEFLATE);
+        out.writeVarint(rawLength);
+        out.writeBytes(compressed, 0, compressed.length);
+        return out.size < body.size ? out.toByteArray() : body.toByteArray();
+    }
+
+    static List<OrderItem> decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("items binario vacio");
+        }
+        int header = bytes[0] & 0xFF;
+        if ((header & ~FLAG_DEFLATE) != VERSION) {
+            throw new IllegalArgumentException("Version de items no soportada: " + (header & ~FLAG_DEFLATE));
+        }
+        Reader in = new Reader(bytes, 1);
+        if ((header & FLAG_DEFLATE) != 0) {
+            int rawLength = (int) in.readVarint();
+            in = new Reader(inflate(bytes, in.position, bytes.length - in.position, rawLength), 0);
+        }
+        int count = (int) in.readVarint();
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderItem item = new OrderItem();
+            item.setProductId(readString(in));
+            item.setQuantity((int) unzigzag(in.readVarint()));
+            item.setPrice(readPrice(in));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void writeString(Buffer out, String value) {
+        if (value == null) {
+            out.writeVarint(0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeVarint(utf8.length + 1L);
+        out.writeBytes(utf8, 0, utf8.length);
+    }
+
+    private static String readString(Reader in) {
+        int length = (int) in.readVarint();
+        if (length == 0) {
+            return null;
+        }
+        String value = new String(in.bytes, in.position, length - 1, StandardCharsets.UTF_8);
+        in.position += length - 1;
+        return value;
+    }
+
+    /**
+     * Punto fijo de 4 decimales cuando el double se recupera exacto; si no, los 8 bytes del double.
+     */
+    private static void writePrice(Buffer out, double price) {
+        long fixed = Math.round(price * PRICE_SCALE);
+        if (Math.abs(fixed) < MAX_SCALED_PRICE && (double) fixed / PRICE_SCALE == price) {
+            out.writeVarint(zigzag(fixed) << 1);
+            return;
+        }
+        out.writeVarint(PRICE_RAW);
+        long bits = Double.doubleToRawLongBits(price);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.writeByte((int) (bits >>> shift));
+        }
+    }
+
+    private static double readPrice(Reader in) {
+        long tag = in.readVarint();
+        if ((tag & PRICE_RAW) == 0) {
+            return (double) unzigzag(tag >>> 1) / PRICE_SCALE;
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (in.bytes[in.position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] deflate(byte[] bytes, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            Buffer out = new Buffer(length / 2 + 16);
+            byte[] chunk = new byte[512];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length, int rawLength) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalArgumentException("items binario truncado");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("items binario invalido", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * byte[] que crece según se escribe (sin la sincronización de ByteArrayOutputStream).
+     */
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int size;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("varint invalido");
+        }
+    }
+}
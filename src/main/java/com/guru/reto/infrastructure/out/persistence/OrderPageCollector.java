@@ -0,0 +1,52 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Acumula las páginas devueltas por DynamoDB hasta completar una página de la API.
+ * DynamoDB aplica el filtro después del Limit, por lo que una página física puede traer
+ * menos ítems de los pedidos; este colector sigue leyendo solo lo necesario para llenarla.
+ * No es thread-safe: se crea uno por consulta.
+ */
+class OrderPageCollector {
+
+    private final int size;
+    private final Function<Order, Map<String, AttributeValue>> keyOf;
+    private final List<Order> items = new ArrayList<>();
+    private Map<String, AttributeValue> lastEvaluatedKey;
+
+    OrderPageCollector(int size, Function<Order, Map<String, AttributeValue>> keyOf) {
+        this.size = size;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Agrega una página física.
+     * @return true cuando la página de la API está completa o la tabla no tiene más datos.
+     */
+    boolean add(Page<Order> page) {
+        items.addAll(page.items());
+        lastEvaluatedKey = page.lastEvaluatedKey();
+        return items.size() >= size || lastEvaluatedKey == null || lastEvaluatedKey.isEmpty();
+    }
+
+    /**
+     * Construye la página final. Si se leyeron más ítems de los necesarios, el token
+     * apunta al último ítem devuelto para que la siguiente página continúe desde ahí.
+     */
+    OrderPage toPage() {
+        if (items.size() > size) {
+            List<Order> page = List.copyOf(items.subList(0, size));
+            return new OrderPage(page, PageToken.encode(keyOf.apply(page.get(size - 1))));
+        }
+        return new OrderPage(List.copyOf(items), PageToken.encode(lastEvaluatedKey));
+    }
+}
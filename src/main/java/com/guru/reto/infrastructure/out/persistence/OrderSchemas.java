@@ -0,0 +1,118 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.VersionedRecordExtension;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.Instant;
+import java.util.List;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
+
+/**
+ * Esquemas estáticos de Order y OrderItem.
+ * Describen el mismo mapeo que las anotaciones @DynamoDbBean, pero con getters y setters
+ * explícitos: no hay introspección ni LambdaMetafactory al arrancar (menos cold start)
+ * y el mapeo de cada ítem no pasa por accesos reflexivos.
+ * Cualquier campo nuevo en Order u OrderItem debe agregarse aquí también
+ * (OrderSchemasTest compara ambos esquemas).
+ */
+@UtilityClass
+public class OrderSchemas {
+
+    public static final TableSchema<OrderItem> ORDER_ITEM = StaticTableSchema.builder(OrderItem.class)
+            .newItemSupplier(OrderItem::new)
+            .addAttribute(String.class, a -> a.name("productId")
+                    .getter(OrderItem::getProductId)
+                    .setter(OrderItem::setProductId))
+            .addAttribute(Integer.class, a -> a.name("quantity")
+                    .getter(OrderItem::getQuantity)
+                    .setter((item, quantity) -> item.setQuantity(quantity == null ? 0 : quantity)))
+            .addAttribute(Double.class, a -> a.name("price")
+                    .getter(OrderItem::getPrice)
+                    .setter((item, price) -> item.setPrice(price == null ? 0 : price)))
+            .build();
+
+    /**
+     * Atributos de Order sin 'items': los listados (GET /orders) los piden con attributesToProject
+     * y devuelven los totales en lugar de las líneas.
+     */
+    public static final List<String> SUMMARY_ATTRIBUTES = List.of("orderId", "version", "customerId", "address",
+            "orderDate", "orderUpdate", "status", "totalAmount", "itemCount", "lineCount");
+
+    public static final TableSchema<Order> ORDER = orderSchema(false);
+
+    /**
+     * Igual que ORDER, pero 'items' se guarda como binario compacto (OrderItemsConverter).
+     * Lee también las órdenes guardadas con ORDER.
+     */
+    public static final TableSchema<Order> ORDER_COMPACT = orderSchema(true);
+
+    private static TableSchema<Order> orderSchema(boolean compactItems) {
+        return StaticTableSchema.builder(Order.class)
+                .newItemSupplier(Order::new)
+                .addAttribute(String.class, a -> a.name("orderId")
+                        .getter(Order::getOrderId)
+                        .setter(Order::setOrderId)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(Long.class, a -> a.name("version")
+                        .getter(Order::getVersion)
+                        .setter(Order::setVersion)
+                        .tags(VersionedRecordExtension.AttributeTags.versionAttribute()))
+                .addAttribute(String.class, a -> a.name("customerId")
+                        .getter(Order::getCustomerId)
+                        .setter(Order::setCustomerId)
+                        .tags(secondaryPartitionKey(Constants.INDEX_CUSTOMER)))
+                .addAttribute(String.class, a -> a.name("address")
+                        .getter(Order::getAddress)
+                        .setter(Order::setAddress))
+                .addAttribute(Instant.class, a -> a.name("orderDate")
+                        .getter(Order::getOrderDate)
+                        .setter(Order::setOrderDate)
+                        .tags(secondarySortKey(Constants.INDEX_STATUS), secondarySortKey(Constants.INDEX_CUSTOMER)))
+                .addAttribute(Instant.class, a -> a.name("orderUpdate")
+                        .getter(Order::getOrderUpdate)
+                        .setter(Order::setOrderUpdate))
+                .addAttribute(EnhancedType.listOf(EnhancedType.documentOf(OrderItem.class, ORDER_ITEM)), a -> {
+                    a.name("items")
+                            .getter(Order::getItems)
+                            .setter(Order::setItems);
+                    if (compactItems) {
+                        a.attributeConverter(OrderItemsConverter.INSTANCE);
+                    }
+                })
+                .addAttribute(String.class, a -> a.name("status")
+                        .getter(Order::getStatus)
+                        .setter(Order::setStatus)
+                        .tags(secondaryPartitionKey(Constants.INDEX_STATUS)))
+                .addAttribute(Long.class, a -> a.name("totalAmount")
+                        .getter(Order::getTotalAmount)
+                        .setter(Order::setTotalAmount))
+                .addAttribute(Integer.class, a -> a.name("itemCount")
+                        .getter(Order::getItemCount)
+                        .setter(Order::setItemCount))
+                .addAttribute(Integer.class, a -> a.name("lineCount")
+                        .getter(Order::getLineCount)
+                        .setter(Order::setLineCount))
+                .build();
+    }
+
+    /**
+     * @param type 'static' para los esquemas de esta clase, 'compact' para el mismo con items en
+     *             binario o 'bean' para el mapeo por reflexión.
+     * @return El esquema de Order a usar en la tabla.
+     */
+    public static TableSchema<Order> order(String type) {
+        if ("bean".equalsIgnoreCase(type)) {
+            return TableSchema.fromBean(Order.class);
+        }
+        return "compact".equalsIgnoreCase(type) ? ORDER_COMPACT : ORDER;
+    }
+}
@@ -0,0 +1,289 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Contadores de GET /orders/stats en la tabla 'db_stats_table', mantenidos por OrderAdapter al escribir:
+ * - cantidad de órdenes por estado (pk "status#<shard>", sk = estado);
+ * - órdenes e importe (centavos) por día de registro en UTC (pk "day#<shard>", sk = yyyy-MM-dd).
+ * Cada contador se reparte en 'db_stats_shards' ítems: cada incremento va a un shard al azar con un
+ * UpdateItem "ADD", así un contador muy escrito (p. ej. REGISTRADO) no concentra las escrituras en
+ * una sola partición. Los incrementos se acumulan en memoria y se envían cada 'db_stats_flush_ms'
+ * (un UpdateItem por contador modificado, no por orden).
+ * La lectura suma los shards con 2 Query por shard (estados y rango de días): su costo depende de
+ * los shards y los días pedidos, no de la cantidad de órdenes.
+ * Los contadores son eventuales: un incremento se ve después del siguiente envío; si un envío
+ * falla o se cancela vuelve a quedar pendiente y lo pendiente se envía al cerrar la aplicación
+ * (en Lambda, OrderApiFunction además envía al final de cada invocación). No es "al menos una vez":
+ * lo que sigue pendiente cuando el proceso termina sin cerrar se pierde, y reenviar un ADD cuya
+ * respuesta se perdió puede contarlo dos veces.
+ * Métricas: orders.stats.pending (contadores por enviar) y orders.stats.flush.errors.
+ */
+@Slf4j
+@Component
+@Profile("!local")
+public class OrderStatsCounters {
+
+    public static final String METER_PENDING = "orders.stats.pending";
+    public static final String METER_FLUSH_ERRORS = "orders.stats.flush.errors";
+
+    static final String ATTRIBUTE_PK = "pk";
+    static final String ATTRIBUTE_SK = "sk";
+    static final String ATTRIBUTE_COUNT = "count";
+    static final String ATTRIBUTE_AMOUNT = "amount";
+    static final String GROUP_STATUS = "status";
+    static final String GROUP_DAY = "day";
+
+    private static final String SHARD_SEPARATOR = "#";
+    private static final int CONCURRENCY = 8;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final DynamoDbResilience resilience;
+    private final String tableName;
+    private final int shards;
+    private final Map<CounterKey, Delta> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final Counter flushErrors;
+    private final Disposable flushTask;
+
+    public OrderStatsCounters(DynamoDbAsyncClient dynamoDbAsyncClient,
+                              DynamoDbResilience resilience,
+                              @Value("${spring.properties.db_stats_table}") String tableName,
+                              @Value("${spring.properties.db_stats_shards}") int shards,
+                              @Value("${spring.properties.db_stats_flush_ms}") long flushMillis,
+                              MeterRegistry meterRegistry) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.resilience = resilience;
+        this.tableName = tableName;
+        this.shards = Math.max(shards, 1);
+        this.flushErrors = Counter.builder(METER_FLUSH_ERRORS)
+                .description("Envíos de contadores de estadísticas que fallaron (se reintentan)")
+                .register(meterRegistry);
+        Gauge.builder(METER_PENDING, pending, Map::size)
+                .description("Contadores de estadísticas con incrementos por enviar")
+                .register(meterRegistry);
+        this.flushTask = flushMillis > 0
+                ? Schedulers.parallel().schedulePeriodically(() -> flush().subscribe(),
+                        flushMillis, flushMillis, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Una orden nueva: suma 1 a su estado y 1 orden más su importe a su día de registro.
+     * @param order La orden tal como quedó guardada.
+     */
+    public void recordCreated(Order order) {
+        if (order.getStatus() != null) {
+            add(new CounterKey(GROUP_STATUS, order.getStatus()), new Delta(1, 0));
+        }
+        if (order.getOrderDate() != null) {
+            long amount = order.getTotalAmount() == null ? 0 : order.getTotalAmount();
+            add(new CounterKey(GROUP_DAY, day(order.getOrderDate().atZone(ZoneOffset.UTC).toLocalDate())),
+                    new Delta(1, amount));
+        }
+    }
+
+    /**
+     * Cambio de estado de una orden existente: resta 1 al estado anterior y suma 1 al nuevo.
+     * @param from Estado anterior (null si no tenía).
+     * @param to   Estado nuevo.
+     */
+    public void recordStatusChange(String from, String to) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        if (from != null) {
+            add(new CounterKey(GROUP_STATUS, from), new Delta(-1, 0));
+        }
+        if (to != null) {
+            add(new CounterKey(GROUP_STATUS, to), new Delta(1, 0));
+        }
+    }
+
+    /**
+     * Suma los shards de los contadores de estado y de los días entre 'from' y 'to' (inclusive).
+     * No incluye los incrementos de esta instancia que todavía no se enviaron.
+     */
+    public Mono<OrderStats> read(LocalDate from, LocalDate to) {
+        return Flux.range(0, shards)
+                .flatMap(shard -> Flux.concat(
+                        query(GROUP_STATUS + SHARD_SEPARATOR + shard, null, null),
+                        query(GROUP_DAY + SHARD_SEPARATOR + shard, day(from), day(to))), CONCURRENCY)
+                .collect(StatsAccumulator::new, StatsAccumulator::add)
+                .map(StatsAccumulator::toStats);
+    }
+
+    /**
+     * Envía los incrementos acumulados (un UpdateItem ADD por contador, a un shard al azar).
+     * Si ya hay un envío en curso no hace nada. Un envío fallido o cancelado vuelve a quedar pendiente.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            if (!flushing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return Flux.fromIterable(List.copyOf(pending.keySet()))
+                    .flatMap(key -> {
+                        Delta delta = pending.remove(key);
+                        return delta == null ? Mono.empty() : write(key, delta);
+                    }, CONCURRENCY)
+                    .then()
+                    .doFinally(signal -> flushing.set(false));
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (flushTask != null) {
+            flushTask.dispose();
+        }
+        try {
+            flush().block(CLOSE_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("OrderStatsCounters.close: {} contadores sin enviar - {}", pending.size(), e.getMessage());
+        }
+    }
+
+    private void add(CounterKey key, Delta delta) {
+        pending.merge(key, delta, Delta::plus);
+    }
+
+    private Mono<Void> write(CounterKey key, Delta delta) {
+        if (delta.isZero()) {
+            return Mono.empty();
+        }
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        ATTRIBUTE_PK, AttributeValue.fromS(key.group() + SHARD_SEPARATOR + shard),
+                        ATTRIBUTE_SK, AttributeValue.fromS(key.name())))
+                .updateExpression("ADD #count :count, #amount :amount")
+                .expressionAttributeNames(Map.of("#count", ATTRIBUTE_COUNT, "#amount", ATTRIBUTE_AMOUNT))
+                .expressionAttributeValues(Map.of(
+                        ":count", AttributeValue.fromN(Long.toString(delta.count())),
+                        ":amount", AttributeValue.fromN(Long.toString(delta.amount()))))
+                .build();
+        return resilience.call("UpdateItem", Mono.fromCompletionStage(() -> dynamoDbAsyncClient.updateItem(request)))
+                .then()
+                .onErrorResume(err -> {
+                    flushErrors.increment();
+                    add(key, delta);
+                    log.warn("OrderStatsCounters.flush {}: {}", key, err.getMessage());
+                    return Mono.empty();
+                })
+                .doOnCancel(() -> add(key, delta));
+    }
+
+    /**
+     * Todos los ítems de una partición (un shard de un grupo), opcionalmente con sk entre from y to.
+     */
+    private Flux<Map<String, AttributeValue>> query(String partition, String from, String to) {
+        return page(partition, from, to, null)
+                .expand(response -> response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                        ? page(partition, from, to, response.lastEvaluatedKey())
+                        : Mono.empty())
+                .flatMapIterable(QueryResponse::items);
+    }
+
+    private Mono<QueryResponse> page(String partition, String from, String to, Map<String, AttributeValue> startKey) {
+        QueryRequest.Builder request = QueryRequest.builder()
+                .tableName(tableName)
+                .exclusiveStartKey(startKey);
+        if (from == null) {
+            request.keyConditionExpression("#pk = :pk")
+                    .expressionAttributeNames(Map.of("#pk", ATTRIBUTE_PK))
+                    .expressionAttributeValues(Map.of(":pk", AttributeValue.fromS(partition)));
+        } else {
+            request.keyConditionExpression("#pk = :pk AND #sk BETWEEN :from AND :to")
+                    .expressionAttributeNames(Map.of("#pk", ATTRIBUTE_PK, "#sk", ATTRIBUTE_SK))
+                    .expressionAttributeValues(Map.of(
+                            ":pk", AttributeValue.fromS(partition),
+                            ":from", AttributeValue.fromS(from),
+                            ":to", AttributeValue.fromS(to)));
+        }
+        QueryRequest built = request.build();
+        return resilience.call("Query", Mono.fromCompletionStage(() -> dynamoDbAsyncClient.query(built)));
+    }
+
+    private static String day(LocalDate date) {
+        return date.toString();
+    }
+
+    private static long number(Map<String, AttributeValue> item, String attribute) {
+        AttributeValue value = item.get(attribute);
+        return value == null || value.n() == null ? 0 : Long.parseLong(value.n());
+    }
+
+    private record CounterKey(String group, String name) {
+    }
+
+    private record Delta(long count, long amount) {
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount + other.amount);
+        }
+
+        boolean isZero() {
+            return count == 0 && amount == 0;
+        }
+    }
+
+    /**
+     * Suma los shards leídos; los días quedan ordenados.
+     */
+    private static final class StatsAccumulator {
+
+        private final Map<String, Long> byStatus = new TreeMap<>();
+        private final Map<String, long[]> byDay = new TreeMap<>();
+
+        void add(Map<String, AttributeValue> item) {
+            String partition = item.get(ATTRIBUTE_PK).s();
+            String name = item.get(ATTRIBUTE_SK).s();
+            long count = number(item, ATTRIBUTE_COUNT);
+            if (partition.startsWith(GROUP_STATUS + SHARD_SEPARATOR)) {
+                byStatus.merge(name, count, Long::sum);
+            } else {
+                long[] day = byDay.computeIfAbsent(name, key -> new long[2]);
+                day[0] += count;
+                day[1] += number(item, ATTRIBUTE_AMOUNT);
+            }
+        }
+
+        OrderStats toStats() {
+            Map<String, OrderStats.Day> days = new TreeMap<>();
+            byDay.forEach((day, sums) -> days.put(day, new OrderStats.Day(sums[0], sums[1])));
+            return new OrderStats(byStatus, days);
+        }
+    }
+}
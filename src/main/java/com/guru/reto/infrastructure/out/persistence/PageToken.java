@@ -0,0 +1,82 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guru.reto.infrastructure.util.Constants;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Codifica el LastEvaluatedKey de DynamoDB como un token opaco (Base64 URL-safe)
+ * para que el cliente pueda pedir la siguiente página sin conocer el esquema de la tabla.
+ */
+@UtilityClass
+public class PageToken {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Map<String, String>>> TOKEN_TYPE = new TypeReference<>() {};
+    private static final String TYPE_STRING = "S";
+    private static final String TYPE_NUMBER = "N";
+
+    /**
+     * Convierte la clave de la última fila leída en un token.
+     * @param key El LastEvaluatedKey (o la clave del último ítem de la página).
+     * @return El token, o null si no hay clave (no hay más páginas).
+     */
+    public static String encode(Map<String, AttributeValue> key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        Map<String, Map<String, String>> plain = new LinkedHashMap<>();
+        key.forEach((name, value) -> plain.put(name, value.n() != null
+                ? Map.of(TYPE_NUMBER, value.n())
+                : Map.of(TYPE_STRING, value.s())));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(plain));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reconstruye el ExclusiveStartKey a partir de un token.
+     * @param token         El token recibido del cliente (puede ser null).
+     * @param keyAttributes Los atributos de clave que debe contener el token.
+     * @return La clave de inicio, o null si no se envió token.
+     * @throws IllegalArgumentException si el token no es válido para esta consulta.
+     */
+    public static Map<String, AttributeValue> decode(String token, Collection<String> keyAttributes) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        Map<String, Map<String, String>> plain;
+        try {
+            plain = MAPPER.readValue(Base64.getUrlDecoder().decode(token), TOKEN_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN, e);
+        }
+        if (plain == null || !plain.keySet().equals(new HashSet<>(keyAttributes))) {
+            throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN);
+        }
+        Map<String, AttributeValue> key = new LinkedHashMap<>();
+        plain.forEach((name, value) -> key.put(name, toAttributeValue(value)));
+        return key;
+    }
+
+    private static AttributeValue toAttributeValue(Map<String, String> value) {
+        if (value != null && value.get(TYPE_STRING) != null) {
+            return AttributeValue.fromS(value.get(TYPE_STRING));
+        }
+        if (value != null && value.get(TYPE_NUMBER) != null) {
+            return AttributeValue.fromN(value.get(TYPE_NUMBER));
+        }
+        throw new IllegalArgumentException(Constants.MSG_INVALID_TOKEN);
+    }
+}
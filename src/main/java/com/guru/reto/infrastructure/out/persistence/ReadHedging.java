@@ -0,0 +1,114 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lecturas de cobertura ("hedged requests") para GET /orders/{id}.
+ * Si la lectura no respondió dentro del umbral (el percentil 'db_hedge_percentile' móvil de
+ * las lecturas, nunca menos que 'db_hedge_min_delay_ms'), se envía una segunda lectura idéntica;
+ * gana la primera que responda y la otra se cancela (el SDK aborta su solicitud HTTP).
+ * - Cada lectura deposita 'db_hedge_budget_ratio' fichas y cada cobertura gasta una, así la
+ *   carga extra queda acotada a esa fracción aunque DynamoDB se ponga lento en general.
+ * - Hasta juntar muestras suficientes (ver LatencyPercentile) no se cubre ninguna lectura.
+ * Solo las lecturas originales que terminan (con valor, vacío o error) alimentan el percentil:
+ * la latencia de una cancelada (por la cobertura o por el cliente) es la del momento de cancelarla,
+ * no la real, y llevaría el umbral hacia abajo.
+ * Métricas: dynamodb.hedge.fired, dynamodb.hedge.won y dynamodb.hedge.delay (umbral actual, ms).
+ */
+@Component
+@Profile("!local")
+public class ReadHedging {
+
+    public static final String METER_FIRED = "dynamodb.hedge.fired";
+    public static final String METER_WON = "dynamodb.hedge.won";
+    public static final String METER_DELAY = "dynamodb.hedge.delay";
+
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final LatencyPercentile latency;
+    private final TokenBudget budget;
+    private final Counter fired;
+    private final Counter won;
+
+    public ReadHedging(@Value("${spring.properties.db_hedge_enabled}") boolean enabled,
+                       @Value("${spring.properties.db_hedge_percentile}") double percentile,
+                       @Value("${spring.properties.db_hedge_min_delay_ms}") long minDelayMillis,
+                       @Value("${spring.properties.db_hedge_budget_ratio}") double budgetRatio,
+                       @Value("${spring.properties.db_hedge_budget_tokens}") int budgetTokens,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.latency = new LatencyPercentile(percentile);
+        this.budget = new TokenBudget(budgetRatio, budgetTokens);
+        this.fired = Counter.builder(METER_FIRED)
+                .description("Lecturas de cobertura enviadas")
+                .register(meterRegistry);
+        this.won = Counter.builder(METER_WON)
+                .description("Lecturas de cobertura que respondieron antes que la original")
+                .register(meterRegistry);
+        Gauge.builder(METER_DELAY, this, ReadHedging::delayMillis)
+                .description("Espera antes de enviar la lectura de cobertura (ms, -1 sin muestras)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param read Crea la lectura; se llama una vez, o dos si se envía la cobertura.
+     * @return El resultado de la lectura que responda primero (valor, vacío o error).
+     */
+    public <T> Mono<T> read(Supplier<Mono<T>> read) {
+        if (!enabled) {
+            return Mono.defer(read);
+        }
+        return Mono.defer(() -> {
+            budget.deposit();
+            long start = System.nanoTime();
+            Mono<T> primary = read.get()
+                    .doFinally(signal -> {
+                        if (signal != SignalType.CANCEL) {
+                            latency.record(System.nanoTime() - start);
+                        }
+                    });
+            long delay = delayNanos();
+            if (delay < 0) {
+                return primary;
+            }
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay))
+                    .flatMap(tick -> {
+                        if (!budget.tryWithdraw()) {
+                            return Mono.never();
+                        }
+                        fired.increment();
+                        return read.get().doOnSuccess(result -> won.increment());
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * El umbral actual en ms para el gauge, o -1 si todavía no hay muestras suficientes.
+     */
+    private double delayMillis() {
+        long delay = delayNanos();
+        return delay < 0 ? -1 : delay / 1_000_000.0;
+    }
+
+    /**
+     * @return El umbral actual en nanosegundos, o -1 si todavía no hay muestras suficientes.
+     */
+    long delayNanos() {
+        long percentile = latency.valueNanos();
+        return percentile < 0 ? -1 : Math.max(percentile, minDelayNanos);
+    }
+}
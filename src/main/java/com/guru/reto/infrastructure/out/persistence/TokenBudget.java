@@ -0,0 +1,45 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presupuesto de llamadas extra (reintentos, lecturas de cobertura): cada llamada normal deposita
+ * 'ratio' fichas, hasta 'maxTokens', y cada llamada extra gasta una. Así las llamadas extra
+ * no superan esa fracción del tráfico. Empieza lleno. Se guarda en milésimas de ficha
+ * para operar con un solo AtomicLong.
+ */
+class TokenBudget {
+
+    private static final long MILLI_TOKENS = 1_000;
+
+    private final long depositMilliTokens;
+    private final long maxMilliTokens;
+    private final AtomicLong milliTokens;
+
+    TokenBudget(double ratio, int maxTokens) {
+        this.depositMilliTokens = Math.round(ratio * MILLI_TOKENS);
+        this.maxMilliTokens = maxTokens * MILLI_TOKENS;
+        this.milliTokens = new AtomicLong(maxMilliTokens);
+    }
+
+    void deposit() {
+        if (milliTokens.get() < maxMilliTokens) {
+            milliTokens.updateAndGet(tokens -> Math.min(maxMilliTokens, tokens + depositMilliTokens));
+        }
+    }
+
+    /**
+     * @return true si había una ficha (y se gastó).
+     */
+    boolean tryWithdraw() {
+        while (true) {
+            long tokens = milliTokens.get();
+            if (tokens < MILLI_TOKENS) {
+                return false;
+            }
+            if (milliTokens.compareAndSet(tokens, tokens - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.guru.reto.infrastructure.out.persistence;
+
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Genera solicitudes UpdateItem parciales a partir de una entidad con solo
+ * los campos a modificar (el resto en null).
+ */
+@UtilityClass
+class UpdateExpressions {
+
+    /**
+     * Atributo de bloqueo optimista (ver Order.getVersion).
+     */
+    static final String VERSION_ATTRIBUTE = "version";
+
+    /**
+     * Construye un único UpdateItem que:
+     * - asigna (SET) solo los atributos no nulos de 'changes', sin tocar la clave ni la versión;
+     * - incrementa la versión (ADD), igual que lo haría VersionedRecordExtension;
+     * - falla con ConditionalCheckFailedException si el ítem no existe o, si 'changes' trae
+     *   versión, si la guardada es otra (bloqueo optimista); la excepción incluye el ítem actual;
+     * - devuelve el ítem completo ya actualizado (ALL_NEW).
+     * @param tableName Nombre de la tabla.
+     * @param schema    Esquema de la entidad.
+     * @param changes   Entidad con la clave y los campos a modificar.
+     * @return La solicitud lista para el cliente de DynamoDB.
+     */
+    static <T> UpdateItemRequest partialUpdate(String tableName, TableSchema<T> schema, T changes) {
+        return partialUpdate(tableName, schema, changes, ReturnValue.ALL_NEW);
+    }
+
+    /**
+     * Igual que partialUpdate(tableName, schema, changes), devolviendo 'returnValues'
+     * (ALL_OLD para conocer los valores anteriores; ver applyTo).
+     */
+    static <T> UpdateItemRequest partialUpdate(String tableName, TableSchema<T> schema, T changes,
+                                               ReturnValue returnValues) {
+        String partitionKey = schema.tableMetadata().primaryPartitionKey();
+        Map<String, AttributeValue> item = schema.itemToMap(changes, true);
+
+        Map<String, String> names = new LinkedHashMap<>();
+        Map<String, AttributeValue> values = new LinkedHashMap<>();
+        List<String> assignments = new ArrayList<>();
+        item.forEach((attribute, value) -> {
+            if (attribute.equals(partitionKey) || attribute.equals(VERSION_ATTRIBUTE)) {
+                return;
+            }
+            int position = assignments.size();
+            names.put("#a" + position, attribute);
+            values.put(":v" + position, value);
+            assignments.add("#a" + position + " = :v" + position);
+        });
+        names.put("#pk", partitionKey);
+        names.put("#version", VERSION_ATTRIBUTE);
+        values.put(":one", AttributeValue.fromN("1"));
+        String condition = "attribute_exists(#pk)";
+        AttributeValue expectedVersion = item.get(VERSION_ATTRIBUTE);
+        if (expectedVersion != null && expectedVersion.n() != null) {
+            values.put(":expected", expectedVersion);
+            condition += " AND #version = :expected";
+        }
+
+        String expression = assignments.isEmpty()
+                ? "ADD #version :one"
+                : "SET " + String.join(", ", assignments) + " ADD #version :one";
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(partitionKey, item.get(partitionKey)))
+                .updateExpression(expression)
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnValues(returnValues)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+
+    /**
+     * Indica si el ítem guardado ya tiene todos los valores no nulos de 'changes'
+     * (sin contar la clave ni la versión), es decir, si la actualización ya está aplicada.
+     * @param schema  Esquema de la entidad.
+     * @param changes Entidad con la clave y los campos a modificar.
+     * @param current Ítem guardado.
+     */
+    static <T> boolean isApplied(TableSchema<T> schema, T changes, Map<String, AttributeValue> current) {
+        String partitionKey = schema.tableMetadata().primaryPartitionKey();
+        return schema.itemToMap(changes, true).entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(partitionKey) && !entry.getKey().equals(VERSION_ATTRIBUTE))
+                .allMatch(entry -> entry.getValue().equals(current.get(entry.getKey())));
+    }
+
+    /**
+     * El ítem tal como queda después de aplicar partialUpdate sobre 'previous' (el ítem ALL_OLD):
+     * los valores no nulos de 'changes' (sin la clave ni la versión) y la versión incrementada.
+     * @param schema   Esquema de la entidad.
+     * @param changes  Entidad con la clave y los campos modificados.
+     * @param previous Ítem anterior a la actualización.
+     */
+    static <T> Map<String, AttributeValue> applyTo(TableSchema<T> schema, T changes, Map<String, AttributeValue> previous) {
+        String partitionKey = schema.tableMetadata().primaryPartitionKey();
+        Map<String, AttributeValue> updated = new HashMap<>(previous);
+        schema.itemToMap(changes, true).forEach((attribute, value) -> {
+            if (!attribute.equals(partitionKey) && !attribute.equals(VERSION_ATTRIBUTE)) {
+                updated.put(attribute, value);
+            }
+        });
+        AttributeValue version = previous.get(VERSION_ATTRIBUTE);
+        long current = version == null || version.n() == null ? 0 : Long.parseLong(version.n());
+        updated.put(VERSION_ATTRIBUTE, AttributeValue.fromN(Long.toString(current + 1)));
+        return updated;
+    }
+}
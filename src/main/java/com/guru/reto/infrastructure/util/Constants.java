@@ -9,11 +9,55 @@ import java.util.UUID;
 public class Constants {
 
     public static final String PARAM_ID = "id";
+    public static final String PARAM_SIZE = "size";
+    public static final String PARAM_TOKEN = "token";
+    public static final String PARAM_FROM = "from";
+    public static final String PARAM_TO = "to";
+    public static final String PARAM_CUSTOMER = "customer";
+    public static final String PARAM_ORDER = "order";
+    public static final String ORDER_ASC = "asc";
+    public static final String ORDER_DESC = "desc";
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_GET_IDS = 1000;
+    public static final int MAX_BULK_ORDERS = 500;
+    public static final int MINOR_UNITS = 100;
+    /**
+     * Límites de una orden: con ellos el total en unidades menores (hasta 10^15) cabe en un long.
+     */
+    public static final int MAX_ORDER_ITEMS = 1000;
+    public static final int MAX_ITEM_QUANTITY = 10_000;
+    public static final String MAX_ITEM_PRICE = "1000000";
+    public static final int DEFAULT_STATS_DAYS = 30;
+    public static final int MAX_STATS_DAYS = 366;
+    public static final String PARAM_ORDERS = "orders";
+    public static final String PARAM_BODY = "body";
+    public static final String PARAM_ITEMS = "items";
     public static final String STATUS_PENDING = "PENDIENTE";
     public static final String STATUS_REGISTRATION = "REGISTRADO";
+    public static final String INDEX_STATUS = "status-orderDate-index";
+    public static final String INDEX_CUSTOMER = "customerId-orderDate-index";
     public static final String MSG_ORDER_NOT_PROCESSED = "Pedido no procesado";
+    public static final String MSG_ORDER_NOT_FOUND = "Pedido no encontrado";
+    public static final String MSG_ORDER_CONFLICT = "El pedido fue modificado por otra solicitud";
+    public static final String MSG_INVALID_TOKEN = "Token de paginacion invalido";
+    public static final String MSG_INVALID_BULK_SIZE = "Se debe enviar entre 1 y " + MAX_BULK_ORDERS + " pedidos";
+    public static final String MSG_INVALID_DATE_RANGE = "Rango de fechas invalido (yyyy-MM-dd, hasta " + MAX_STATS_DAYS + " dias)";
+    public static final String MSG_INVALID_ORDER = "Orden invalido (asc o desc)";
+    public static final String MSG_INVALID_CUSTOMER = "El cliente no debe estar vacio";
+    public static final String MSG_INVALID_BODY = "Cuerpo de la solicitud invalido";
+    public static final String MSG_INVALID_TOTAL = "El total del pedido excede el maximo permitido";
+    public static final String MSG_ROUTE_NOT_FOUND = "Ruta no encontrada";
+    public static final String MSG_NDJSON_NOT_SUPPORTED = "NDJSON no disponible en Lambda, use la paginacion (token)";
+    public static final String MSG_INTERNAL_ERROR = "Error interno";
+    public static final String MSG_TOO_MANY_REQUESTS = "Demasiadas solicitudes, reintente mas tarde";
+    public static final String MSG_STORE_UNAVAILABLE = "Servicio no disponible, reintente mas tarde";
     public static final String SEPARATE_UUID = "-";
 
+    /**
+     * ID aleatorio sin orden (UUID v4 sin guiones). Las órdenes nuevas usan UlidIdGenerator;
+     * se conserva como referencia de IdGeneratorBenchmark.
+     */
     public static String generateId() {
         return UUID.randomUUID().toString().replace(SEPARATE_UUID, StringUtils.EMPTY);
 
@@ -0,0 +1,83 @@
+package com.guru.reto.infrastructure.util;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Rango de días (UTC, ambos inclusive) de los query params 'from' y 'to' (yyyy-MM-dd).
+ * Lo comparten OrderHandler y OrderApiFunction.
+ *
+ * @param from Primer día (null sin límite, solo con parseBounds).
+ * @param to   Último día (null sin límite, solo con parseBounds).
+ */
+public record DateRange(
+        LocalDate from,
+        LocalDate to
+) {
+
+    /**
+     * Sin 'to' se usa el día actual; sin 'from', los 'defaultDays' días que terminan en 'to'.
+     * @param from        El parámetro 'from' (puede ser null).
+     * @param to          El parámetro 'to' (puede ser null).
+     * @param defaultDays Días del rango si no se envía 'from'.
+     * @param maxDays     Máximo de días del rango.
+     * @return El rango.
+     * @throws InvalidParamException Si una fecha no es válida, 'from' es posterior a 'to'
+     *                               o el rango supera 'maxDays'.
+     */
+    public static DateRange parse(String from, String to, int defaultDays, int maxDays) {
+        LocalDate start = date(from, Constants.PARAM_FROM);
+        LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : date(to, Constants.PARAM_TO);
+        if (start == null) {
+            start = end.minusDays(defaultDays - 1L);
+        }
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new InvalidParamException(Constants.PARAM_FROM, null);
+        }
+        return new DateRange(start, end);
+    }
+
+    /**
+     * Límites opcionales, sin valores por defecto ni largo máximo.
+     * @param from El parámetro 'from' (puede ser null).
+     * @param to   El parámetro 'to' (puede ser null).
+     * @return El rango, con null en los límites no enviados.
+     * @throws InvalidParamException Si una fecha no es válida o 'from' es posterior a 'to'.
+     */
+    public static DateRange parseBounds(String from, String to) {
+        LocalDate start = date(from, Constants.PARAM_FROM);
+        LocalDate end = date(to, Constants.PARAM_TO);
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new InvalidParamException(Constants.PARAM_FROM, null);
+        }
+        return new DateRange(start, end);
+    }
+
+    private static LocalDate date(String value, String param) {
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidParamException(param, e);
+        }
+    }
+
+    /**
+     * Rango no válido, con el query param que lo invalida: la fecha que no se pudo leer,
+     * o 'from' si el rango está invertido o es demasiado largo.
+     */
+    public static class InvalidParamException extends IllegalArgumentException {
+
+        private final String param;
+
+        InvalidParamException(String param, Throwable cause) {
+            super(Constants.MSG_INVALID_DATE_RANGE, cause);
+            this.param = param;
+        }
+
+        public String param() {
+            return param;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.guru.reto.infrastructure.util;
+
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderException;
+import com.guru.reto.domain.OrderNotFoundException;
+import com.guru.reto.domain.OrderStoreUnavailableException;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Traducción de las excepciones de dominio a respuestas HTTP, compartida por
+ * OrderHandler (modo servidor) y OrderApiFunction (Lambda):
+ * - OrderNotFoundException: 404 Not Found;
+ * - OrderConflictException: 409 Conflict;
+ * - OrderStoreUnavailableException: 429 Too Many Requests (throttling) o 503 Service Unavailable
+ *   (circuit breaker abierto), ambos con Retry-After.
+ */
+@UtilityClass
+public class OrderErrors {
+
+    public static HttpStatus status(OrderException e) {
+        if (e instanceof OrderNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof OrderConflictException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (e instanceof OrderStoreUnavailableException unavailable && unavailable.isThrottled()) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * @return Los segundos del header Retry-After (redondeados hacia arriba), o null si no aplica.
+     */
+    public static String retryAfter(OrderException e) {
+        if (e instanceof OrderStoreUnavailableException unavailable) {
+            long millis = unavailable.getRetryAfter().toMillis();
+            return String.valueOf(Math.max((millis + 999) / 1000, 1));
+        }
+        return null;
+    }
+
+    public static ErrorResponse body(OrderException e) {
+        return ErrorResponse.builder()
+                .field(e instanceof OrderStoreUnavailableException ? null : Constants.PARAM_ID)
+                .message(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.guru.reto.infrastructure.util;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Datos de una solicitud que se completan a lo largo del pipeline y se escriben
+ * en un solo evento al final (ver RequestLogger).
+ * Viaja en el Context de Reactor con la clave RequestTrace.class: lo agrega el adaptador
+ * de entrada (RequestLogFilter u OrderApiFunction) y MeteredOrderPort suma cada llamada
+ * a la persistencia. Las llamadas pueden terminar en hilos distintos, por eso los atómicos.
+ */
+public final class RequestTrace {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong storeNanos = new AtomicLong();
+    private final AtomicInteger storeCalls = new AtomicInteger();
+    private volatile String orderId;
+
+    /**
+     * @return La traza de la solicitud en curso o null si el pipeline no tiene una
+     * (ej. llamadas desde pruebas o benchmarks).
+     */
+    public static RequestTrace from(ContextView context) {
+        return context.getOrDefault(RequestTrace.class, null);
+    }
+
+    /**
+     * Suma una llamada a la persistencia.
+     * @param nanos   Duración de la llamada.
+     * @param orderId La orden involucrada o null si la llamada es de varias órdenes.
+     */
+    public void store(long nanos, String orderId) {
+        storeNanos.addAndGet(nanos);
+        storeCalls.incrementAndGet();
+        if (orderId != null) {
+            this.orderId = orderId;
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long storeNanos() {
+        return storeNanos.get();
+    }
+
+    public int storeCalls() {
+        return storeCalls.get();
+    }
+
+    public String orderId() {
+        return orderId;
+    }
+}
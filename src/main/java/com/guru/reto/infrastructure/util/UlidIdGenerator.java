@@ -0,0 +1,144 @@
+package com.guru.reto.infrastructure.util;
+
+import com.guru.reto.domain.IdGenerator;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+
+/**
+ * Identificadores ULID: 26 caracteres Crockford base32 con 48 bits de tiempo (milisegundos)
+ * seguidos de 80 bits aleatorios. El alfabeto está en orden ASCII, así que ordenar los IDs
+ * como texto los ordena por fecha de creación (a igual milisegundo, al azar) y un rango de
+ * fechas es un rango de IDs (ver lowerBound).
+ * A diferencia de UUID.randomUUID (SecureRandom compartido y varios String intermedios):
+ * - la parte aleatoria sale de un SecureRandom DRBG por hilo, sin contención entre hilos; como en
+ *   UUID, no se puede predecir a partir de otros IDs (ThreadLocalRandom sí se podría);
+ * - se genera y codifica en un byte[] por hilo que se reutiliza, así cada ID asigna solo su String.
+ * El DRBG toma entropía del sistema operativo solo al crearse (una lectura breve, la primera vez
+ * que cada hilo genera un ID); después no hay bloqueo ni estado compartido.
+ * 80 bits por milisegundo hacen despreciable una colisión.
+ */
+@Component
+public class UlidIdGenerator implements IdGenerator {
+
+    public static final UlidIdGenerator INSTANCE = new UlidIdGenerator();
+
+    static final int LENGTH = 26;
+    private static final int TIME_LENGTH = 10;
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String generate() {
+        State state = STATE.get();
+        byte[] buffer = state.buffer;
+        encodeTime(System.currentTimeMillis(), buffer);
+        state.random.nextBytes(state.randomBytes);
+        // 80 bits aleatorios = 16 caracteres de 5 bits: 40 + 40 bits
+        encodeBits(readBits(state.randomBytes, 0), buffer, TIME_LENGTH);
+        encodeBits(readBits(state.randomBytes, 5), buffer, TIME_LENGTH + 8);
+        return new String(buffer, 0, LENGTH, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param id Un ID generado por esta clase.
+     * @return El instante (al milisegundo) en que se generó.
+     * @throws IllegalArgumentException si no es un ULID.
+     */
+    public static Instant timestamp(String id) {
+        if (id == null || id.length() != LENGTH) {
+            throw new IllegalArgumentException("ID invalido: " + id);
+        }
+        long millis = 0;
+        for (int i = 0; i < TIME_LENGTH; i++) {
+            int value = decode(id.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("ID invalido: " + id);
+            }
+            millis = (millis << 5) | value;
+        }
+        return Instant.ofEpochMilli(millis);
+    }
+
+    /**
+     * @param instant Inicio de un rango de fechas.
+     * @return El menor ID posible generado en ese milisegundo: todos los IDs generados desde
+     * ese instante son mayores o iguales como texto.
+     */
+    public static String lowerBound(Instant instant) {
+        byte[] buffer = new byte[LENGTH];
+        encodeTime(instant.toEpochMilli(), buffer);
+        for (int i = TIME_LENGTH; i < LENGTH; i++) {
+            buffer[i] = ALPHABET[0];
+        }
+        return new String(buffer, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 48 bits de tiempo en 10 caracteres (el primero solo usa 3 bits).
+     */
+    private static void encodeTime(long millis, byte[] buffer) {
+        for (int i = TIME_LENGTH - 1; i >= 0; i--) {
+            buffer[i] = ALPHABET[(int) (millis & 0x1F)];
+            millis >>>= 5;
+        }
+    }
+
+    /**
+     * Los 40 bits bajos de 'bits' en 8 caracteres a partir de 'offset'.
+     */
+    private static void encodeBits(long bits, byte[] buffer, int offset) {
+        for (int i = offset + 7; i >= offset; i--) {
+            buffer[i] = ALPHABET[(int) (bits & 0x1F)];
+            bits >>>= 5;
+        }
+    }
+
+    /**
+     * 40 bits de los 5 bytes a partir de 'offset'.
+     */
+    private static long readBits(byte[] buffer, int offset) {
+        long bits = 0;
+        for (int i = offset; i < offset + 5; i++) {
+            bits = (bits << 8) | (buffer[i] & 0xFF);
+        }
+        return bits;
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Estado de cada hilo: el generador y los buffers que se reutilizan en cada ID.
+     */
+    private static final class State {
+
+        private final SecureRandom random = newRandom();
+        private final byte[] buffer = new byte[LENGTH];
+        private final byte[] randomBytes = new byte[10];
+
+        /**
+         * DRBG (NIST SP 800-90A) del JDK; SecureRandom por defecto si la plataforma no lo ofrece.
+         * Genera un valor para que la lectura de entropía del sistema ocurra acá y no en cada ID.
+         */
+        private static SecureRandom newRandom() {
+            SecureRandom random;
+            try {
+                random = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                random = new SecureRandom();
+            }
+            random.nextInt();
+            return random;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.guru.reto;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Excepciones de BlockHound para toda la JVM de pruebas.
+ * blockhound-junit-platform instala BlockHound antes de la primera prueba y carga esta
+ * integración por ServiceLoader (META-INF/services), así ninguna prueba depende del orden
+ * de ejecución para detectar llamadas bloqueantes en hilos no bloqueantes.
+ */
+public class BlockHoundTestIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        // El appender de consola escribe en el hilo que registra el log (ej. un hilo 'parallel')
+        builder.allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes");
+        // Lectura de entropía del sistema al crear el SecureRandom de cada hilo (una vez por hilo)
+        builder.allowBlockingCallsInside("com.guru.reto.infrastructure.util.UlidIdGenerator$State", "newRandom");
+    }
+}
@@ -0,0 +1,39 @@
+package com.guru.reto;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
+import com.guru.reto.infrastructure.util.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria de los metadatos para la imagen nativa.
+ * Verifica que los tipos de la API y del mapeo a DynamoDB quedan registrados.
+ */
+class RetoRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_ShouldCoverJsonTypes_BeanSchema_AndSdkResources() {
+
+        new RetoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(OrderRegisterReq.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(OrderResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ErrorResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Order.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(OrderItem.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("software/amazon/awssdk/services/dynamodb/execution.interceptors")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.yml")).accepts(hints);
+    }
+}
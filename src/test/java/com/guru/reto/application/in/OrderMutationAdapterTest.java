@@ -2,14 +2,21 @@ package com.guru.reto.application.in;
 
 import com.guru.reto.application.in.adapter.OrderMutationAdapter;
 import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.IdGenerator;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.util.Constants;
+import com.guru.reto.infrastructure.util.UlidIdGenerator;
+import com.guru.reto.infrastructure.in.rest.dto.OrderItemReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -28,6 +35,9 @@ class OrderMutationAdapterTest {
     @Mock
     private OrderPort orderPort;
 
+    @Spy
+    private IdGenerator idGenerator = new UlidIdGenerator();
+
     @InjectMocks
     private OrderMutationAdapter orderMutationAdapter;
 
@@ -50,4 +60,40 @@ class OrderMutationAdapterTest {
                                 response.status().equals("REGISTRADO"))
                 .verifyComplete();
     }
+
+    @Test
+    void registerOrder_ShouldSendTotals_InMinorUnits() {
+
+        OrderRegisterReq req = new OrderRegisterReq("Test", "123 Main St", List.of(
+                new OrderItemReq("p-1", 3, 19.99),
+                new OrderItemReq("p-2", 1, 0.05)));
+
+        when(orderPort.create(any(Order.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(orderMutationAdapter.registerOrder(req))
+                .expectNextMatches(response -> response.totalAmount() == 6002L
+                        && response.itemCount() == 4
+                        && response.lineCount() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void registerOrders_ShouldKeepRequestPosition_ForEachResult() {
+
+        List<OrderRegisterReq> reqs = List.of(
+                new OrderRegisterReq("Primero", "Calle 1", List.of()),
+                new OrderRegisterReq("Segundo", "Calle 2", List.of()));
+
+        when(orderPort.createAll(any())).thenAnswer(invocation -> {
+            Flux<Order> orders = invocation.getArgument(0);
+            return orders.collectList().flatMapMany(list -> Flux.just(
+                    OrderWriteResult.failed(list.get(1), Constants.MSG_ORDER_NOT_PROCESSED),
+                    OrderWriteResult.written(list.get(0))));
+        });
+
+        StepVerifier.create(orderMutationAdapter.registerOrders(reqs))
+                .expectNextMatches(result -> result.index() == 1 && result.code() == 500)
+                .expectNextMatches(result -> result.index() == 0 && result.code() == 201)
+                .verifyComplete();
+    }
 }
\ No newline at end of file
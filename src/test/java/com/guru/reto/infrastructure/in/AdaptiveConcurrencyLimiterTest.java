@@ -0,0 +1,63 @@
+package com.guru.reto.infrastructure.in;
+
+import com.guru.reto.infrastructure.in.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria del límite de concurrencia AIMD.
+ * Verifica el rechazo inmediato al alcanzar el límite, la baja multiplicativa ante
+ * respuestas lentas o fallidas, la subida aditiva y las métricas.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(900).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 4, 2, 6,
+            Duration.ofMillis(500), 0.5, meterRegistry);
+
+    @Test
+    void tryAcquire_ShouldRejectImmediately_WhenLimitIsReached() {
+
+        assertThat(IntStream.range(0, 4).allMatch(i -> limiter.tryAcquire())).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(meterRegistry.get("orders.limiter.rejected").tag("group", "read").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.limiter.inflight").tag("group", "read").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void release_ShouldDecrease_WhenSlowOrDropped_AndNotBelowMin() {
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldIncrease_OnlyWhenLimitIsInUse_AndNotAboveMax() {
+
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            IntStream.range(0, 3).forEach(n -> limiter.tryAcquire());
+            IntStream.range(0, 3).forEach(n -> limiter.release(FAST, false));
+        }
+        assertThat(limiter.limit()).isEqualTo(6);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(meterRegistry.get("orders.limiter.limit").tag("group", "read").gauge().value()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,300 @@
+package com.guru.reto.infrastructure.in;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guru.reto.application.in.port.OrderMutationPort;
+import com.guru.reto.application.in.port.OrderSearchPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.infrastructure.in.lambda.OrderApiFunction;
+import com.guru.reto.infrastructure.in.logging.RequestLogger;
+import com.guru.reto.infrastructure.in.metrics.RouteMetrics;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
+import com.guru.reto.infrastructure.in.validation.OrderBulkRegistrar;
+import com.guru.reto.infrastructure.in.validation.RequestValidator;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria del adaptador de entrada para Lambda (API Gateway v2).
+ * Verifica el ruteo por routeKey y por path, y que las respuestas y errores
+ * tengan el mismo contrato que OrderHandler.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderApiFunctionTest {
+
+    private static final String REGISTER_BODY =
+            "{\"customer\":\"c-1\",\"address\":\"Av. 1\",\"items\":[{\"productId\":\"p-1\",\"quantity\":1,\"price\":2.5}]}";
+
+    @Mock
+    private OrderSearchPort orderSearchPort;
+
+    @Mock
+    private OrderMutationPort orderMutationPort;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderApiFunction orderApiFunction;
+
+    @BeforeEach
+    void setUp() {
+        orderApiFunction = orderApiFunction(new StaticListableBeanFactory());
+    }
+
+    @Test
+    void getOrder_ShouldReturn200_WithPathParameter() throws Exception {
+
+        when(orderSearchPort.findId("id-1")).thenReturn(Mono.just(Order.builder().orderId("id-1").build()));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders/{id}", "/orders/id-1")
+                .withPathParameters(Map.of(Constants.PARAM_ID, "id-1"))
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.getBody()).get("orderId").asText()).isEqualTo("id-1");
+        assertThat(meterRegistry.get(RouteMetrics.METER)
+                .tags("route", "GET /orders/{id}", "status", "200", "outcome", "SUCCESS")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrder_ShouldReturn404_WhenNotFound_ResolvingRouteFromProxyPath() {
+
+        when(orderSearchPort.findId("nope")).thenReturn(Mono.empty());
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET", "ANY /orders/{proxy+}", "/orders/nope").build());
+
+        assertThat(response.getStatusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void getAllOrders_ShouldReturn400_WhenTokenIsInvalid() throws Exception {
+
+        when(orderSearchPort.findAll(5, "roto"))
+                .thenReturn(Mono.error(new IllegalArgumentException(Constants.MSG_INVALID_TOKEN)));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders", "/orders")
+                .withQueryStringParameters(Map.of(Constants.PARAM_SIZE, "5", Constants.PARAM_TOKEN, "roto"))
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(objectMapper.readTree(response.getBody()).get(0).get("field").asText()).isEqualTo(Constants.PARAM_TOKEN);
+    }
+
+    @Test
+    void getAllOrders_ShouldReturnPage() throws Exception {
+
+        when(orderSearchPort.findAll(Constants.DEFAULT_PAGE_SIZE, null))
+                .thenReturn(Mono.just(new OrderPage(List.of(Order.builder().orderId("id-1").build()), "def")));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders", "/orders").build());
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.getBody()).get("next").asText()).isEqualTo("def");
+    }
+
+    @Test
+    void getAllOrders_ShouldReturn406_ForNdjson() throws Exception {
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders", "/orders")
+                .withHeaders(Map.of(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(406);
+        assertThat(objectMapper.readTree(response.getBody()).get(0).get("field").asText()).isEqualTo(HttpHeaders.ACCEPT);
+        verifyNoInteractions(orderSearchPort);
+    }
+
+    @Test
+    void getAllOrders_ShouldReturnCustomerHistory_NewestFirstByDefault() throws Exception {
+
+        when(orderSearchPort.findByCustomer(new CustomerOrdersQuery("c-1", null, LocalDate.parse("2025-01-31"), false,
+                Constants.DEFAULT_PAGE_SIZE, null)))
+                .thenReturn(Mono.just(new OrderPage(List.of(Order.builder().orderId("id-1").build()), null)));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders", "/orders")
+                .withQueryStringParameters(Map.of(Constants.PARAM_CUSTOMER, "c-1", Constants.PARAM_TO, "2025-01-31"))
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.getBody()).get("items").get(0).get("orderId").asText()).isEqualTo("id-1");
+    }
+
+    @Test
+    void getStats_ShouldUseDefaultRange_ResolvingRouteFromProxyPath() throws Exception {
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        when(orderSearchPort.findStats(today.minusDays(Constants.DEFAULT_STATS_DAYS - 1L), today))
+                .thenReturn(Mono.just(new OrderStats(Map.of("REGISTRADO", 7L), Map.of())));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET", "ANY /orders/{proxy+}", "/orders/stats").build());
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(response.getBody()).get("byStatus").get("REGISTRADO").asLong()).isEqualTo(7);
+    }
+
+    @Test
+    void getAllOrders_ShouldReturn400_ForBlankCustomerOrInvalidDate() throws Exception {
+
+        APIGatewayV2HTTPResponse blank = orderApiFunction.apply(event("GET /orders", "/orders")
+                .withQueryStringParameters(Map.of(Constants.PARAM_CUSTOMER, " "))
+                .build());
+        APIGatewayV2HTTPResponse badTo = orderApiFunction.apply(event("GET /orders/stats", "/orders/stats")
+                .withQueryStringParameters(Map.of(Constants.PARAM_FROM, "2025-01-01", Constants.PARAM_TO, "ayer"))
+                .build());
+
+        assertThat(blank.getStatusCode()).isEqualTo(400);
+        assertThat(objectMapper.readTree(blank.getBody()).get(0).get("field").asText()).isEqualTo(Constants.PARAM_CUSTOMER);
+        assertThat(badTo.getStatusCode()).isEqualTo(400);
+        assertThat(objectMapper.readTree(badTo.getBody()).get(0).get("field").asText()).isEqualTo(Constants.PARAM_TO);
+        verifyNoInteractions(orderSearchPort);
+    }
+
+    @Test
+    void registerOrder_ShouldReturn201_WithBase64Body() throws Exception {
+
+        when(orderMutationPort.registerOrder(any(OrderRegisterReq.class)))
+                .thenReturn(Mono.just(OrderResponse.builder().id("new-id").status(Constants.STATUS_REGISTRATION).build()));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("POST /orders", "/orders")
+                .withBody(Base64.getEncoder().encodeToString(REGISTER_BODY.getBytes()))
+                .withIsBase64Encoded(true)
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(objectMapper.readTree(response.getBody()).get("id").asText()).isEqualTo("new-id");
+    }
+
+    @Test
+    void registerOrder_ShouldReturn400_WithValidationErrors() throws Exception {
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("POST /orders", "/orders")
+                .withBody("{\"customer\":\"\",\"address\":\"Av. 1\",\"items\":[]}")
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(objectMapper.readTree(response.getBody()))
+                .allSatisfy(error -> assertThat(error.get("field").asText()).isEqualTo("orderRegisterReq"))
+                .hasSizeGreaterThanOrEqualTo(2);
+        verifyNoInteractions(orderMutationPort);
+    }
+
+    @Test
+    void registerOrder_ShouldReturn400_WhenBodyIsNotJson() throws Exception {
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("POST /orders", "/orders")
+                .withBody("no-json")
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(objectMapper.readTree(response.getBody()).get(0).get("field").asText()).isEqualTo(Constants.PARAM_BODY);
+    }
+
+    @Test
+    void registerOrders_ShouldReturn207_WithRejectedAndCreated() throws Exception {
+
+        when(orderMutationPort.registerOrders(anyList()))
+                .thenReturn(Flux.just(OrderBulkResult.created(0, Order.builder().orderId("id-1").build())));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("POST /orders:bulk", "/orders:bulk")
+                .withBody("[{\"customer\":\"\"}," + REGISTER_BODY + "]")
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(207);
+        assertThat(objectMapper.readTree(response.getBody()))
+                .extracting(result -> result.get("index").asInt())
+                .containsExactly(0, 1);
+    }
+
+    @Test
+    void apply_ShouldFlushStats_BeforeReturning() {
+
+        OrderStatsCounters statsCounters = mock(OrderStatsCounters.class);
+        when(statsCounters.flush()).thenReturn(Mono.empty());
+        when(orderMutationPort.registerOrder(any(OrderRegisterReq.class)))
+                .thenReturn(Mono.just(OrderResponse.builder().id("new-id").status(Constants.STATUS_REGISTRATION).build()));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction(
+                new StaticListableBeanFactory(Map.of("orderStatsCounters", statsCounters)))
+                .apply(event("POST /orders", "/orders").withBody(REGISTER_BODY).build());
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        verify(statsCounters).flush();
+    }
+
+    @Test
+    void apply_ShouldReturn404_ForUnknownRoute() {
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("DELETE /orders", "/orders").build());
+
+        assertThat(response.getStatusCode()).isEqualTo(404);
+        assertThat(meterRegistry.find(RouteMetrics.METER).timers()).isEmpty();
+    }
+
+    @Test
+    void apply_ShouldReturn500_WhenPortFails() {
+
+        when(orderSearchPort.findId("id-1")).thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        APIGatewayV2HTTPResponse response = orderApiFunction.apply(event("GET /orders/{id}", "/orders/id-1")
+                .withPathParameters(Map.of(Constants.PARAM_ID, "id-1"))
+                .build());
+
+        assertThat(response.getStatusCode()).isEqualTo(500);
+    }
+
+    private static APIGatewayV2HTTPEvent.APIGatewayV2HTTPEventBuilder event(String routeKey, String path) {
+        return event(routeKey.substring(0, routeKey.indexOf(' ')), routeKey, path);
+    }
+
+    private static APIGatewayV2HTTPEvent.APIGatewayV2HTTPEventBuilder event(String method, String routeKey, String path) {
+        return APIGatewayV2HTTPEvent.builder()
+                .withRouteKey(routeKey)
+                .withRawPath(path)
+                .withRequestContext(APIGatewayV2HTTPEvent.RequestContext.builder()
+                        .withHttp(APIGatewayV2HTTPEvent.RequestContext.Http.builder()
+                                .withMethod(method)
+                                .withPath(path)
+                                .build())
+                        .build());
+    }
+
+    private OrderApiFunction orderApiFunction(StaticListableBeanFactory beans) {
+        RequestValidator requestValidator = new RequestValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        return new OrderApiFunction(orderSearchPort, orderMutationPort, requestValidator,
+                new OrderBulkRegistrar(orderMutationPort, requestValidator), objectMapper, new RouteMetrics(meterRegistry),
+                new RequestLogger(1), beans.getBeanProvider(OrderStatsCounters.class));
+    }
+}
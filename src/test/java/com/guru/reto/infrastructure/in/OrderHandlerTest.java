@@ -2,11 +2,25 @@ package com.guru.reto.infrastructure.in;
 
 import com.guru.reto.application.in.port.OrderMutationPort;
 import com.guru.reto.application.in.port.OrderSearchPort;
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderStoreUnavailableException;
 import com.guru.reto.infrastructure.in.configuration.WebFluxConfig;
+import com.guru.reto.infrastructure.in.metrics.RouteMetrics;
+import com.guru.reto.infrastructure.in.rest.dto.OrderBulkResult;
+import com.guru.reto.infrastructure.in.rest.dto.OrderItemReq;
+import com.guru.reto.infrastructure.in.rest.dto.OrderRegisterReq;
 import com.guru.reto.infrastructure.in.rest.dto.OrderResponse;
 import com.guru.reto.infrastructure.in.rest.dto.OrderUpdateReq;
 import com.guru.reto.infrastructure.in.rest.router.OrderHandler;
 import com.guru.reto.infrastructure.in.rest.router.OrderRouter;
+import com.guru.reto.infrastructure.in.validation.OrderBulkRegistrar;
+import com.guru.reto.infrastructure.in.validation.RequestValidator;
+import com.guru.reto.infrastructure.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
@@ -14,29 +28,169 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Prueba de integración de la capa Web (Router + Handler).
- * Carga el contexto de WebFlux, importa el Router, el Handler y la Configuración de Validación.
+ * Carga el contexto de WebFlux, importa el Router, el Handler y la Configuración de Validación
+ * (y un SimpleMeterRegistry para RouteMetrics, ya que el slice no configura métricas).
  * Simula (Mock) los puertos de la capa de aplicación.
  */
 @WebFluxTest
-@Import({OrderRouter.class, OrderHandler.class, WebFluxConfig.class})
+@Import({OrderRouter.class, OrderHandler.class, WebFluxConfig.class, RequestValidator.class, OrderBulkRegistrar.class,
+        SimpleMeterRegistry.class})
 class OrderHandlerTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
     @MockBean
     private OrderMutationPort orderMutationPort;
 
     @MockBean
     private OrderSearchPort orderSearchPort;
 
+    /**
+     * Verifica que GET /orders pase los parámetros de paginación al puerto
+     * y devuelva la página con el token de la siguiente.
+     */
+    @Test
+    void getAllOrders_ShouldReturnPage_WithNextToken() {
+
+        Order order = Order.builder().orderId("id-1").status("REGISTRADO").build();
+
+        when(orderSearchPort.findAll(5, "abc"))
+                .thenReturn(Mono.just(new OrderPage(List.of(order), "def")));
+
+        webTestClient.get().uri("/orders?size=5&token=abc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].orderId").isEqualTo("id-1")
+                .jsonPath("$.next").isEqualTo("def");
+    }
+
+    /**
+     * Verifica que GET /orders?customer= consulte el historial del cliente con el orden y los
+     * límites pedidos, y que un orden inválido, un cliente vacío o una fecha inválida se respondan
+     * como 400 Bad Request sobre el parámetro correspondiente.
+     */
+    @Test
+    void getAllOrders_ShouldReturnCustomerHistory_WhenCustomerIsSent() {
+
+        Order order = Order.builder().orderId("id-1").customerId("c-1").build();
+
+        when(orderSearchPort.findByCustomer(new CustomerOrdersQuery("c-1", LocalDate.parse("2025-01-01"), null, true, 5, "abc")))
+                .thenReturn(Mono.just(new OrderPage(List.of(order), "def")));
+
+        webTestClient.get().uri("/orders?customer=c-1&order=asc&from=2025-01-01&size=5&token=abc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].orderId").isEqualTo("id-1")
+                .jsonPath("$.next").isEqualTo("def");
+
+        webTestClient.get().uri("/orders?customer=c-1&order=random")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_ORDER);
+
+        webTestClient.get().uri("/orders?customer= ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_CUSTOMER);
+
+        webTestClient.get().uri("/orders?customer=c-1&from=2025-01-01&to=2025-02-30")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_TO);
+    }
+
+    /**
+     * Verifica que un token inválido se responda como 400 Bad Request.
+     */
+    @Test
+    void getAllOrders_ShouldReturn400_WhenTokenIsInvalid() {
+
+        when(orderSearchPort.findAll(10, "roto"))
+                .thenReturn(Mono.error(new IllegalArgumentException(Constants.MSG_INVALID_TOKEN)));
+
+        webTestClient.get().uri("/orders?token=roto")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_TOKEN);
+    }
+
+    /**
+     * Verifica que GET /orders/stats pase el rango de días al puerto (y no se tome como un ID)
+     * y que un rango inválido se responda como 400 Bad Request sobre el parámetro que lo invalida.
+     */
+    @Test
+    void getStats_ShouldReturnCounters_ForDateRange() {
+
+        when(orderSearchPort.findStats(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31")))
+                .thenReturn(Mono.just(new OrderStats(Map.of("REGISTRADO", 3L),
+                        Map.of("2025-01-02", new OrderStats.Day(3, 1500)))));
+
+        webTestClient.get().uri("/orders/stats?from=2025-01-01&to=2025-01-31")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.byStatus.REGISTRADO").isEqualTo(3)
+                .jsonPath("$.byDay['2025-01-02'].totalAmount").isEqualTo(1500);
+
+        webTestClient.get().uri("/orders/stats?from=2025-02-01&to=2025-01-01")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_FROM)
+                .jsonPath("$[0].message").isEqualTo(Constants.MSG_INVALID_DATE_RANGE);
+
+        webTestClient.get().uri("/orders/stats?from=2025-01-01&to=ayer")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_TO);
+    }
+
+    /**
+     * Verifica que RouteMetrics mida la solicitud con el patrón de la ruta (no con el path).
+     */
+    @Test
+    void getOrder_ShouldRecordRouteTimer_WithRoutePattern() {
+
+        when(orderSearchPort.findId("id-9")).thenReturn(Mono.just(Order.builder().orderId("id-9").build()));
+
+        webTestClient.get().uri("/orders/id-9")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(meterRegistry.get(RouteMetrics.METER)
+                .tags("route", "GET /orders/{id}", "status", "200", "outcome", "SUCCESS")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
     /**
      * Prueba el "Happy Path" de la actualización (PUT).
      * Verifica que si el body es válido, se llama al puerto de mutación
@@ -48,7 +202,8 @@ class OrderHandlerTest {
         OrderUpdateReq validRequest = new OrderUpdateReq(
                 "id-existente-123",
                 "Cliente Actualizado",
-                "Direccion Nueva"
+                "Direccion Nueva",
+                null
         );
 
         OrderResponse mockResponse = OrderResponse.builder()
@@ -66,4 +221,174 @@ class OrderHandlerTest {
                 .expectStatus().isAccepted()
                 .expectBody(OrderResponse.class);
     }
+
+    /**
+     * Verifica la traducción de los errores de dominio: conflicto de versión -> 409
+     * y throttling persistente de la persistencia -> 429 con Retry-After.
+     */
+    @Test
+    void updateAndGet_ShouldMapDomainErrors_ToHttpStatus() {
+
+        when(orderMutationPort.updateOrder(any(OrderUpdateReq.class)))
+                .thenReturn(Mono.error(new OrderConflictException("id-1", 3L)));
+        when(orderSearchPort.findId("id-1"))
+                .thenReturn(Mono.error(new OrderStoreUnavailableException(true, Duration.ofMillis(1500))));
+
+        webTestClient.put().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new OrderUpdateReq("id-1", "Cliente", "Direccion", 2L))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$[0].message").isEqualTo(Constants.MSG_ORDER_CONFLICT);
+
+        webTestClient.get().uri("/orders/id-1")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "2");
+    }
+
+    /**
+     * Verifica que POST /orders valide el cuerpo (los endpoints funcionales no lo hacen al leerlo):
+     * un cliente vacío y sin items responde 400 y no llega al puerto.
+     */
+    @Test
+    void registerOrder_ShouldReturn400_WhenBodyIsInvalid() {
+
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new OrderRegisterReq("", "Direccion", List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo("orderRegisterReq");
+
+        verify(orderMutationPort, never()).registerOrder(any());
+    }
+
+    /**
+     * Verifica los límites de las líneas: cantidad 0 y precio infinito (1e400 en el JSON) dan un error cada uno,
+     * y un total que no cabe en un long (ArithmeticException) también es 400 y no 500.
+     */
+    @Test
+    void registerOrder_ShouldReturn400_WhenItemsAreOutOfBounds() {
+
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customer\":\"Cliente\",\"address\":\"Direccion\","
+                        + "\"items\":[{\"productId\":\"prod-1\",\"quantity\":0,\"price\":1e400}]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+
+        when(orderMutationPort.registerOrder(any(OrderRegisterReq.class)))
+                .thenReturn(Mono.error(new ArithmeticException("long overflow")));
+
+        webTestClient.post().uri("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new OrderRegisterReq("Cliente", "Direccion", List.of(new OrderItemReq("prod-1", 2, 10.5))))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_ITEMS);
+    }
+
+    /**
+     * Verifica que POST /orders:batchGet valide el cuerpo: sin ids o sin cuerpo responde 400
+     * y no llega a la persistencia.
+     */
+    @Test
+    void batchGetOrders_ShouldReturn400_WhenBodyIsInvalid() {
+
+        webTestClient.post().uri("/orders:batchGet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo("orderBatchGetReq");
+
+        webTestClient.post().uri("/orders:batchGet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo(Constants.PARAM_BODY);
+
+        verify(orderSearchPort, never()).findIds(any());
+    }
+
+    /**
+     * Verifica que el registro masivo valide cada orden por separado:
+     * la inválida se informa con 400 en su posición y la válida se registra.
+     */
+    @Test
+    void registerOrders_ShouldReturn207_WithResultPerOrder() {
+
+        OrderRegisterReq invalid = new OrderRegisterReq("", "Direccion", List.of());
+        OrderRegisterReq valid = new OrderRegisterReq("Cliente", "Direccion",
+                List.of(new OrderItemReq("prod-1", 2, 10.5)));
+        Order order = Order.builder().orderId("id-1").status("REGISTRADO").build();
+
+        when(orderMutationPort.registerOrders(argThat(reqs -> reqs.size() == 1)))
+                .thenReturn(Flux.just(OrderBulkResult.created(0, order)));
+
+        webTestClient.post().uri("/orders:bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(invalid, valid))
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].index").isEqualTo(0)
+                .jsonPath("$[0].code").isEqualTo(400)
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].code").isEqualTo(201)
+                .jsonPath("$[1].id").isEqualTo("id-1");
+    }
+
+    /**
+     * Verifica que un elemento null del arreglo se informe como orden inválida en su posición
+     * (y no corra el índice de las demás).
+     */
+    @Test
+    void registerOrders_ShouldRejectNullElement_InItsPosition() {
+
+        Order order = Order.builder().orderId("id-1").status("REGISTRADO").build();
+
+        when(orderMutationPort.registerOrders(argThat(reqs -> reqs.size() == 1)))
+                .thenReturn(Flux.just(OrderBulkResult.created(0, order)));
+
+        webTestClient.post().uri("/orders:bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[null,{\"customer\":\"Cliente\",\"address\":\"Direccion\","
+                        + "\"items\":[{\"productId\":\"prod-1\",\"quantity\":1,\"price\":10.5}]}]")
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].index").isEqualTo(0)
+                .jsonPath("$[0].code").isEqualTo(400)
+                .jsonPath("$[0].errors[0].field").isEqualTo(Constants.PARAM_BODY)
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].code").isEqualTo(201);
+    }
+
+    /**
+     * Verifica que GET /orders/export escriba una orden por línea (NDJSON)
+     * y que la ruta no se confunda con GET /orders/{id}.
+     */
+    @Test
+    void exportOrders_ShouldStreamNdjson() {
+
+        when(orderSearchPort.exportAll()).thenReturn(Flux.just(
+                Order.builder().orderId("id-1").build(),
+                Order.builder().orderId("id-2").build()));
+
+        webTestClient.get().uri("/orders/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Order.class)
+                .hasSize(2);
+    }
 }
\ No newline at end of file
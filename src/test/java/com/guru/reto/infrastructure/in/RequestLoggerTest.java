@@ -0,0 +1,72 @@
+package com.guru.reto.infrastructure.in;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.guru.reto.infrastructure.in.logging.RequestLogger;
+import com.guru.reto.infrastructure.util.RequestTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria del log por solicitud.
+ * Verifica el muestreo de las respuestas exitosas, que los errores se registren siempre
+ * y los pares clave-valor del evento.
+ */
+class RequestLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void log_ShouldSkipSuccess_WhenNotSampled_ButAlwaysLogErrors() {
+
+        RequestLogger requestLogger = new RequestLogger(0);
+
+        requestLogger.log("GET /orders/{id}", 200, new RequestTrace());
+        requestLogger.log("GET /orders/{id}", 404, new RequestTrace());
+        requestLogger.log("PUT /orders", 500, new RequestTrace());
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel).containsExactly(Level.WARN, Level.ERROR);
+    }
+
+    @Test
+    void log_ShouldWriteOneEvent_WithTraceKeyValues() {
+
+        RequestTrace trace = new RequestTrace();
+        trace.store(2_000_000, "id-1");
+        trace.store(1_000_000, null);
+
+        new RequestLogger(1).log("GET /orders/{id}", 200, trace);
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> values = appender.list.get(0).getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+        assertThat(values)
+                .containsEntry("route", "GET /orders/{id}")
+                .containsEntry("status", 200)
+                .containsEntry("orderId", "id-1")
+                .containsEntry("storeMs", 3.0)
+                .containsEntry("storeCalls", 2)
+                .containsKey("latencyMs");
+    }
+}
@@ -0,0 +1,108 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.infrastructure.out.metrics.DynamoDbMetricsInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria del interceptor de métricas del cliente DynamoDB.
+ * Verifica que pida la capacidad consumida, que la registre por operación
+ * (incluidas las respuestas batch con una entrada por tabla) y los contadores de errores.
+ */
+@ExtendWith(MockitoExtension.class)
+class DynamoDbMetricsInterceptorTest {
+
+    @Mock
+    private Context.ModifyRequest modifyRequest;
+
+    @Mock
+    private Context.AfterExecution afterExecution;
+
+    @Mock
+    private Context.FailedExecution failedExecution;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DynamoDbMetricsInterceptor interceptor = new DynamoDbMetricsInterceptor(meterRegistry);
+
+    @Test
+    void modifyRequest_ShouldAskForTotalCapacity_UnlessAlreadySet() {
+
+        when(modifyRequest.request()).thenReturn(GetItemRequest.builder().tableName("t").build());
+        GetItemRequest modified = (GetItemRequest) interceptor.modifyRequest(modifyRequest, attributes("GetItem"));
+        assertThat(modified.returnConsumedCapacity()).isEqualTo(ReturnConsumedCapacity.TOTAL);
+
+        GetItemRequest indexes = GetItemRequest.builder()
+                .tableName("t")
+                .returnConsumedCapacity(ReturnConsumedCapacity.INDEXES)
+                .build();
+        when(modifyRequest.request()).thenReturn(indexes);
+        assertThat(interceptor.modifyRequest(modifyRequest, attributes("GetItem"))).isSameAs(indexes);
+    }
+
+    @Test
+    void afterExecution_ShouldRecordReadAndWriteCapacity() {
+
+        when(afterExecution.response()).thenReturn(GetItemResponse.builder()
+                .consumedCapacity(ConsumedCapacity.builder().capacityUnits(0.5).build())
+                .build());
+        interceptor.afterExecution(afterExecution, attributes("GetItem"));
+
+        when(afterExecution.response()).thenReturn(BatchWriteItemResponse.builder()
+                .consumedCapacity(ConsumedCapacity.builder().capacityUnits(20.0).build(),
+                        ConsumedCapacity.builder().capacityUnits(5.0).build())
+                .build());
+        interceptor.afterExecution(afterExecution, attributes("BatchWriteItem"));
+
+        assertThat(meterRegistry.get(DynamoDbMetricsInterceptor.METER_CAPACITY)
+                .tags("operation", "GetItem", "type", "read")
+                .summary()
+                .totalAmount()).isEqualTo(0.5);
+        assertThat(meterRegistry.get(DynamoDbMetricsInterceptor.METER_CAPACITY)
+                .tags("operation", "BatchWriteItem", "type", "write")
+                .summary()
+                .totalAmount()).isEqualTo(25.0);
+    }
+
+    @Test
+    void onExecutionFailure_ShouldCountConflictsAndThrottles() {
+
+        when(failedExecution.exception()).thenReturn(ConditionalCheckFailedException.builder().message("version").build());
+        interceptor.onExecutionFailure(failedExecution, attributes("UpdateItem"));
+
+        when(failedExecution.exception()).thenReturn(DynamoDbException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ProvisionedThroughputExceededException").build())
+                .build());
+        interceptor.onExecutionFailure(failedExecution, attributes("Query"));
+
+        assertThat(meterRegistry.get(DynamoDbMetricsInterceptor.METER_CONFLICTS)
+                .tag("operation", "UpdateItem")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(DynamoDbMetricsInterceptor.METER_THROTTLES)
+                .tag("operation", "Query")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    private static ExecutionAttributes attributes(String operation) {
+        return new ExecutionAttributes().putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+    }
+}
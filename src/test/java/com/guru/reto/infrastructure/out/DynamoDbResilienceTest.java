@@ -0,0 +1,131 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.OrderStoreUnavailableException;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria de la capa de resiliencia de DynamoDB.
+ * Verifica los reintentos del throttling, el presupuesto de reintentos,
+ * que los errores de negocio no se reintenten, los estados del circuit breaker y la traducción
+ * de las fallas del servicio o la conexión a OrderStoreUnavailableException.
+ */
+class DynamoDbResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void call_ShouldRetryThrottling_UntilSuccess() {
+
+        DynamoDbResilience resilience = new DynamoDbResilience(4, 1, 5, 0.1, 10, 5, 60_000, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(resilience.call("GetItem", Mono.defer(() -> calls.incrementAndGet() < 3
+                        ? Mono.error(throttled())
+                        : Mono.just("ok"))))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get(DynamoDbResilience.METER_RETRIES).tag("operation", "GetItem").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void call_ShouldFailAsThrottled_WhenAttemptsOrBudgetRunOut() {
+
+        DynamoDbResilience resilience = new DynamoDbResilience(3, 1, 5, 0.1, 2, 5, 60_000, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> alwaysThrottled = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(throttled());
+        });
+
+        StepVerifier.create(resilience.call("PutItem", alwaysThrottled))
+                .expectErrorMatches(err -> err instanceof OrderStoreUnavailableException e && e.isThrottled())
+                .verify();
+        assertThat(calls).hasValue(3);
+
+        // las 2 fichas del presupuesto se gastaron: el siguiente throttling no se reintenta
+        StepVerifier.create(resilience.call("PutItem", alwaysThrottled))
+                .expectError(OrderStoreUnavailableException.class)
+                .verify();
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void call_ShouldOpenCircuit_AfterConsecutiveFailures_AndCloseAfterProbe() throws InterruptedException {
+
+        DynamoDbResilience resilience = new DynamoDbResilience(3, 1, 5, 0.1, 10, 2, 50, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("sin conexion"));
+        });
+
+        StepVerifier.create(resilience.call("Query", failing)).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(resilience.call("Query", failing)).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(resilience.call("Query", failing))
+                .expectErrorMatches(err -> err instanceof OrderStoreUnavailableException e && !e.isThrottled())
+                .verify();
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get(DynamoDbResilience.METER_CIRCUIT_STATE).gauge().value()).isEqualTo(1);
+
+        Thread.sleep(60);
+
+        StepVerifier.create(resilience.call("Query", Mono.just("ok"))).expectNext("ok").verifyComplete();
+        assertThat(meterRegistry.get(DynamoDbResilience.METER_CIRCUIT_STATE).gauge().value()).isZero();
+    }
+
+    @Test
+    void call_ShouldNotRetryNorOpenCircuit_OnConditionalCheckFailure() {
+
+        DynamoDbResilience resilience = new DynamoDbResilience(3, 1, 5, 0.1, 10, 1, 60_000, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(resilience.call("UpdateItem", Mono.defer(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(ConditionalCheckFailedException.builder().message("version").build());
+                })))
+                .expectError(ConditionalCheckFailedException.class)
+                .verify();
+
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get(DynamoDbResilience.METER_CIRCUIT_STATE).gauge().value()).isZero();
+    }
+
+    @Test
+    void call_ShouldFailAsUnavailable_WithCause_OnServerOrConnectionErrors() {
+
+        DynamoDbResilience resilience = new DynamoDbResilience(3, 1, 5, 0.1, 10, 5, 60_000, meterRegistry);
+        DynamoDbException serverError = (DynamoDbException) DynamoDbException.builder()
+                .statusCode(500)
+                .message("internal")
+                .build();
+        SdkClientException connectionError = SdkClientException.create("sin conexion");
+
+        StepVerifier.create(resilience.call("GetItem", Mono.error(serverError)))
+                .expectErrorMatches(err -> err instanceof OrderStoreUnavailableException e
+                        && !e.isThrottled() && e.getCause() == serverError)
+                .verify();
+        StepVerifier.create(resilience.call("PutItem", Mono.error(connectionError)))
+                .expectErrorMatches(err -> err instanceof OrderStoreUnavailableException e
+                        && !e.isThrottled() && e.getCause() == connectionError)
+                .verify();
+    }
+
+    private static ProvisionedThroughputExceededException throttled() {
+        return ProvisionedThroughputExceededException.builder().message("throttled").build();
+    }
+}
@@ -0,0 +1,262 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.CustomerOrdersQuery;
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.domain.OrderNotFoundException;
+import com.guru.reto.domain.OrderPage;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.out.memory.InMemoryOrderAdapter;
+import com.guru.reto.infrastructure.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria del adaptador en memoria (perfil 'local').
+ * Verifica las reglas de versión, la paginación por el índice de estado (con totales y sin items),
+ * el índice por cliente y las escrituras concurrentes.
+ */
+class InMemoryOrderAdapterTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private InMemoryOrderAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new InMemoryOrderAdapter(0);
+    }
+
+    @Test
+    void create_ShouldStoreVersion1_AndFailOnDuplicateId() {
+
+        StepVerifier.create(adapter.create(order("id-1", "c-1", 0)))
+                .expectNextMatches(saved -> saved.getVersion() == 1L
+                        && Constants.STATUS_REGISTRATION.equals(saved.getStatus()))
+                .verifyComplete();
+
+        StepVerifier.create(adapter.create(order("id-1", "c-1", 0)))
+                .expectError(OrderConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void update_ShouldMergeNonNullFields_AndIncrementVersion() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+
+        StepVerifier.create(adapter.update(Order.builder().orderId("id-1").address("Nueva 1").build()))
+                .expectNextMatches(saved -> saved.getVersion() == 2L
+                        && "Nueva 1".equals(saved.getAddress())
+                        && "c-1".equals(saved.getCustomerId())
+                        && saved.getOrderUpdate() != null)
+                .verifyComplete();
+    }
+
+    @Test
+    void update_ShouldFail_WhenOrderDoesNotExist() {
+
+        StepVerifier.create(adapter.update(Order.builder().orderId("nope").address("x").build()))
+                .expectError(OrderNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void update_ShouldCheckVersion_AndAcceptRepeatedUpdate() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+        adapter.update(Order.builder().orderId("id-1").address("Nueva 1").version(1L).build()).block();
+
+        StepVerifier.create(adapter.update(Order.builder().orderId("id-1").address("Nueva 1").version(1L).build()))
+                .expectNextMatches(saved -> saved.getVersion() == 2L)
+                .verifyComplete();
+
+        StepVerifier.create(adapter.update(Order.builder().orderId("id-1").address("Nueva 2").version(1L).build()))
+                .expectErrorMatches(err -> err instanceof OrderConflictException conflict
+                        && conflict.getCurrentVersion() == 2L)
+                .verify();
+    }
+
+    @Test
+    void findId_ShouldReturnCopy_ThatDoesNotChangeTheStore() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+
+        adapter.findId("id-1").block().setAddress("cambiada");
+
+        assertThat(adapter.findId("id-1").block().getAddress()).isEqualTo("Calle 0");
+    }
+
+    @Test
+    void findAll_ShouldPageNewestFirst_WithToken() {
+
+        IntStream.range(0, 5).forEach(i -> adapter.create(order("id-" + i, "c-1", i)).block());
+
+        OrderPage first = adapter.findAll(2, null).block();
+        assertThat(first.items()).extracting(Order::getOrderId).containsExactly("id-4", "id-3");
+        assertThat(first.next()).isNotNull();
+
+        OrderPage second = adapter.findAll(2, first.next()).block();
+        assertThat(second.items()).extracting(Order::getOrderId).containsExactly("id-2", "id-1");
+
+        OrderPage last = adapter.findAll(2, second.next()).block();
+        assertThat(last.items()).extracting(Order::getOrderId).containsExactly("id-0");
+        assertThat(last.next()).isNull();
+    }
+
+    @Test
+    void findAll_ShouldReturnTotals_WithoutItems() {
+
+        adapter.create(order("id-1", "c-1", 0).toBuilder()
+                .items(List.of(
+                        OrderItem.builder().productId("p-1").quantity(2).price(10.25).build(),
+                        OrderItem.builder().productId("p-2").quantity(1).price(0.1).build()))
+                .build()).block();
+
+        Order listed = adapter.findAll(10, null).block().items().get(0);
+
+        assertThat(listed.getItems()).isNull();
+        assertThat(listed.getTotalAmount()).isEqualTo(2060L);
+        assertThat(listed.getItemCount()).isEqualTo(3);
+        assertThat(listed.getLineCount()).isEqualTo(2);
+        assertThat(adapter.findId("id-1").block().getItems()).hasSize(2);
+    }
+
+    @Test
+    void findStats_ShouldCountByStatus_AndByDayInRange() {
+
+        adapter.create(order("id-1", "c-1", 0).toBuilder()
+                .items(List.of(OrderItem.builder().productId("p-1").quantity(2).price(10.25).build()))
+                .build()).block();
+        adapter.create(order("id-2", "c-1", 1)).block();
+        adapter.create(order("id-3", "c-2", 0).toBuilder().orderDate(BASE.minus(Duration.ofDays(40))).build()).block();
+        adapter.update(Order.builder().orderId("id-2").status("ENTREGADO").build()).block();
+
+        LocalDate day = LocalDate.ofInstant(BASE, ZoneOffset.UTC);
+        OrderStats stats = adapter.findStats(day.minusDays(29), day).block();
+
+        assertThat(stats.byStatus()).containsExactly(
+                Map.entry("ENTREGADO", 1L), Map.entry(Constants.STATUS_REGISTRATION, 2L));
+        assertThat(stats.byDay()).containsExactly(Map.entry(day.toString(), new OrderStats.Day(2, 2050)));
+    }
+
+    @Test
+    void findAll_ShouldFail_WithInvalidToken() {
+
+        StepVerifier.create(adapter.findAll(2, "no-es-un-token"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void findByCustomer_ShouldPageInRequestedOrder_WithinDateBounds() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+        adapter.create(order("id-2", "c-1", 1)).block();
+        adapter.create(order("id-3", "c-1", 2)).block();
+        adapter.create(order("id-4", "c-1", 0).toBuilder().orderDate(BASE.plus(Duration.ofDays(1))).build()).block();
+        adapter.create(order("id-5", "c-2", 3)).block();
+
+        LocalDate day = LocalDate.ofInstant(BASE, ZoneOffset.UTC);
+        OrderPage first = adapter.findByCustomer(new CustomerOrdersQuery("c-1", day, day, true, 2, null)).block();
+        OrderPage second = adapter.findByCustomer(new CustomerOrdersQuery("c-1", day, day, true, 2, first.next())).block();
+        OrderPage newest = adapter.findByCustomer(new CustomerOrdersQuery("c-1", null, null, false, 1, null)).block();
+
+        assertThat(first.items()).extracting(Order::getOrderId).containsExactly("id-1", "id-2");
+        assertThat(first.items().get(0).getItems()).isNull();
+        assertThat(second.items()).extracting(Order::getOrderId).containsExactly("id-3");
+        assertThat(second.next()).isNull();
+        assertThat(newest.items()).extracting(Order::getOrderId).containsExactly("id-4");
+    }
+
+    @Test
+    void findByCustomer_ShouldApplyOpenBounds_AndSkipOrdersWithoutDate() {
+
+        adapter.create(order("id-1", "c-1", 0).toBuilder().orderDate(BASE.minusNanos(1)).build()).block();
+        adapter.create(order("id-2", "c-1", 0)).block();
+        adapter.create(order("id-3", "c-1", 0).toBuilder().orderDate(BASE.plus(Duration.ofDays(1)).minusNanos(1)).build()).block();
+        adapter.create(order("id-4", "c-1", 0).toBuilder().orderDate(null).build()).block();
+
+        LocalDate day = LocalDate.ofInstant(BASE, ZoneOffset.UTC);
+        OrderPage since = adapter.findByCustomer(new CustomerOrdersQuery("c-1", day, null, true, 10, null)).block();
+        OrderPage until = adapter.findByCustomer(new CustomerOrdersQuery("c-1", null, day.minusDays(1), false, 10, null)).block();
+        OrderPage all = adapter.findByCustomer(new CustomerOrdersQuery("c-1", null, null, false, 10, null)).block();
+
+        assertThat(since.items()).extracting(Order::getOrderId).containsExactly("id-2", "id-3");
+        assertThat(until.items()).extracting(Order::getOrderId).containsExactly("id-1");
+        assertThat(all.items()).extracting(Order::getOrderId).containsExactly("id-3", "id-2", "id-1", "id-4");
+        String afterId1 = adapter.findByCustomer(new CustomerOrdersQuery("c-1", null, null, false, 3, null)).block().next();
+        StepVerifier.create(adapter.findByCustomer(new CustomerOrdersQuery("c-1", day, day, true, 10, afterId1)))
+                .expectErrorMessage(Constants.MSG_INVALID_TOKEN)
+                .verify();
+    }
+
+    @Test
+    void streamByCustomer_ShouldFollowCustomerChanges() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+        adapter.create(order("id-2", "c-1", 1)).block();
+        adapter.update(Order.builder().orderId("id-1").customerId("c-2").build()).block();
+
+        StepVerifier.create(adapter.streamByCustomer("c-1").map(Order::getOrderId).collectList())
+                .expectNext(List.of("id-2"))
+                .verifyComplete();
+        StepVerifier.create(adapter.streamByCustomer("c-2").map(Order::getOrderId).collectList())
+                .expectNext(List.of("id-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void createAll_ShouldReportDuplicates_AsFailed() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+
+        StepVerifier.create(adapter.createAll(Flux.just(order("id-1", "c-1", 0), order("id-2", "c-1", 1)))
+                        .map(OrderWriteResult::isWritten)
+                        .collectList())
+                .expectNext(List.of(false, true))
+                .verifyComplete();
+    }
+
+    @Test
+    void concurrentUpdates_ShouldApplyEveryVersion_AndKeepOneIndexEntry() {
+
+        adapter.create(order("id-1", "c-1", 0)).block();
+        int updates = 200;
+
+        Flux.range(0, updates)
+                .parallel(4)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> adapter.update(Order.builder().orderId("id-1").address("a-" + i).build()))
+                .sequential()
+                .blockLast();
+
+        assertThat(adapter.findId("id-1").block().getVersion()).isEqualTo(1L + updates);
+        assertThat(adapter.streamAll().collectList().block()).hasSize(1);
+    }
+
+    private static Order order(String id, String customer, int second) {
+        return Order.builder()
+                .orderId(id)
+                .customerId(customer)
+                .address("Calle " + second)
+                .orderDate(BASE.plusSeconds(second))
+                .status(Constants.STATUS_PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.application.out.port.OrderPort;
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.metrics.MeteredOrderPort;
+import com.guru.reto.infrastructure.util.RequestTrace;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria del decorador de métricas de OrderPort.
+ * Verifica que cada método se mida con su outcome, que la medición empiece al suscribirse
+ * y que cada llamada se sume al RequestTrace de la solicitud.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeteredOrderPortTest {
+
+    @Mock
+    private OrderPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredOrderPort meteredOrderPort;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meteredOrderPort = new MeteredOrderPort(delegate, meterRegistry);
+    }
+
+    @Test
+    void findId_ShouldRecordSuccessAndEmpty() {
+
+        when(delegate.findId("id-1")).thenReturn(Mono.just(Order.builder().orderId("id-1").build()));
+        when(delegate.findId("nope")).thenReturn(Mono.empty());
+
+        StepVerifier.create(meteredOrderPort.findId("id-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(meteredOrderPort.findId("nope")).verifyComplete();
+
+        assertThat(timer("findId", "SUCCESS").count()).isEqualTo(1);
+        assertThat(timer("findId", "EMPTY").count()).isEqualTo(1);
+    }
+
+    @Test
+    void update_ShouldRecordError() {
+
+        when(delegate.update(any(Order.class)))
+                .thenReturn(Mono.error(new Throwable("fallo")));
+
+        StepVerifier.create(meteredOrderPort.update(Order.builder().orderId("id-1").build()))
+                .expectErrorMessage("fallo")
+                .verify();
+
+        assertThat(timer("update", "ERROR").count()).isEqualTo(1);
+    }
+
+    @Test
+    void findIds_ShouldRecordOnce_WhenFluxCompletes() {
+
+        when(delegate.findIds(List.of("1", "2"))).thenReturn(Flux.just(
+                Order.builder().orderId("1").build(),
+                Order.builder().orderId("2").build()));
+
+        StepVerifier.create(meteredOrderPort.findIds(List.of("1", "2"))).expectNextCount(2).verifyComplete();
+
+        assertThat(timer("findIds", "SUCCESS").count()).isEqualTo(1);
+    }
+
+    @Test
+    void streamAll_ShouldRecordCancelled_AndNothingBeforeSubscription() {
+
+        when(delegate.streamAll()).thenReturn(Flux.never());
+
+        Flux<Order> stream = meteredOrderPort.streamAll();
+        assertThat(meterRegistry.find(MeteredOrderPort.METER).timers()).isEmpty();
+
+        StepVerifier.create(stream).thenCancel().verify();
+
+        assertThat(timer("streamAll", "CANCELLED").count()).isEqualTo(1);
+    }
+
+    @Test
+    void create_ShouldAddDurationAndOrderId_ToRequestTrace() {
+
+        when(delegate.create(any(Order.class))).thenReturn(Mono.just(Order.builder().orderId("id-1").build()));
+        RequestTrace trace = new RequestTrace();
+
+        StepVerifier.create(meteredOrderPort.create(Order.builder().orderId("id-1").build())
+                        .contextWrite(context -> context.put(RequestTrace.class, trace)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(trace.storeCalls()).isEqualTo(1);
+        assertThat(trace.orderId()).isEqualTo("id-1");
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get(MeteredOrderPort.METER)
+                .tags("method", method, "outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,199 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
+import com.guru.reto.infrastructure.out.persistence.OrderAdapter;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchReader;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchWriter;
+import com.guru.reto.infrastructure.out.persistence.OrderCache;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.out.persistence.ReadHedging;
+import com.guru.reto.infrastructure.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que los pipelines de OrderAdapter no bloqueen ni cambien de hilo.
+ * BlockHound está instalado en toda la JVM de pruebas (blockhound-junit-platform, ver
+ * BlockHoundTestIntegration): cualquier llamada bloqueante en un hilo no bloqueante
+ * (event loop, parallel) hace fallar la prueba. Las respuestas simuladas del SDK
+ * se completan en un hilo 'parallel', igual que lo haría el hilo de I/O de Netty.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderAdapterNonBlockingTest {
+
+    private static final String TABLE = "orders-table-test";
+    private static final TableSchema<Order> ORDER_SCHEMA = TableSchema.fromBean(Order.class);
+    private static final Duration COMPLETION_DELAY = Duration.ofMillis(50);
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Order> orderTable;
+
+    @Mock
+    private DynamoDbAsyncIndex<Order> statusIndex;
+
+    @Mock
+    private OrderStatsCounters orderStatsCounters;
+
+    private OrderAdapter orderAdapter;
+
+    @BeforeEach
+    void setUp() {
+        orderAdapter = new OrderAdapter(dynamoDbAsyncClient, orderTable,
+                new OrderBatchReader(dynamoDbAsyncClient, orderTable, 20),
+                new OrderBatchWriter(dynamoDbAsyncClient, orderTable, 2),
+                new OrderCache(false, 100, 60, 0),
+                new DynamoDbResilience(4, 25, 1000, 0.1, 10, 20, 5000, new SimpleMeterRegistry()),
+                new ReadHedging(false, 0.95, 5, 0.05, 10, new SimpleMeterRegistry()), orderStatsCounters, 1, 1, false);
+    }
+
+    @Test
+    void findId_ShouldContinueOnCompletionThread() {
+
+        Order order = Order.builder().orderId("1").build();
+        when(orderTable.getItem(any(Key.class))).thenAnswer(invocation -> onParallel(order));
+
+        StepVerifier.create(orderAdapter.findId("1").map(found -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void create_ShouldContinueOnCompletionThread() {
+
+        when(orderTable.putItem(any(Order.class))).thenAnswer(invocation -> onParallel(null));
+
+        StepVerifier.create(orderAdapter.create(order("1")).map(saved -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void update_ShouldContinueOnCompletionThread() {
+
+        when(orderTable.tableName()).thenReturn(TABLE);
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenAnswer(invocation -> onParallel(UpdateItemResponse.builder()
+                        .attributes(ORDER_SCHEMA.itemToMap(order("1").toBuilder().version(2L).build(), true))
+                        .build()));
+
+        StepVerifier.create(orderAdapter.update(Order.builder().orderId("1").address("Direccion Nueva").build())
+                        .map(updated -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_ShouldContinueOnCompletionThread() {
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(orderTable.index(Constants.INDEX_STATUS)).thenReturn(statusIndex);
+        when(statusIndex.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(SdkPublisher.adapt(Flux.just(Page.create(List.of(order("1"), order("2"))))
+                        .delayElements(COMPLETION_DELAY)));
+
+        StepVerifier.create(orderAdapter.findAll(10, null).map(page -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findIds_ShouldContinueOnCompletionThread() {
+
+        when(orderTable.tableName()).thenReturn(TABLE);
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> onParallel(BatchGetItemResponse.builder()
+                        .responses(Map.of(TABLE, List.of(ORDER_SCHEMA.itemToMap(order("1"), true),
+                                ORDER_SCHEMA.itemToMap(order("2"), true))))
+                        .build()));
+
+        StepVerifier.create(orderAdapter.findIds(List.of("1", "2")).map(found -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void createAll_ShouldContinueOnCompletionThread() {
+
+        when(orderTable.tableName()).thenReturn(TABLE);
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenAnswer(invocation -> onParallel(BatchWriteItemResponse.builder().build()));
+
+        StepVerifier.create(orderAdapter.createAll(Flux.just(order("1"), order("2")))
+                        .filter(OrderWriteResult::isWritten)
+                        .map(result -> Thread.currentThread().getName()))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .expectNextMatches(thread -> thread.startsWith("parallel"))
+                .verifyComplete();
+    }
+
+    @Test
+    void blockHound_ShouldDetectBlockingCalls() {
+
+        StepVerifier.create(Mono.delay(Duration.ofMillis(1))
+                        .doOnNext(tick -> {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+
+    /**
+     * Respuesta del SDK que se completa en un hilo 'parallel' (null para las respuestas vacías).
+     */
+    private static <T> CompletableFuture<T> onParallel(T value) {
+        return Mono.delay(COMPLETION_DELAY)
+                .then(Mono.justOrEmpty(value))
+                .toFuture();
+    }
+
+    private static Order order(String id) {
+        return Order.builder()
+                .orderId(id)
+                .customerId("Cliente")
+                .status(Constants.STATUS_REGISTRATION)
+                .build();
+    }
+}
@@ -1,22 +1,56 @@
 package com.guru.reto.infrastructure.out;
 
+import com.guru.reto.domain.CustomerOrdersQuery;
 import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderConflictException;
+import com.guru.reto.domain.OrderNotFoundException;
+import com.guru.reto.domain.OrderStoreUnavailableException;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
 import com.guru.reto.infrastructure.out.persistence.OrderAdapter;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchReader;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchWriter;
+import com.guru.reto.infrastructure.out.persistence.OrderCache;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.out.persistence.PageToken;
+import com.guru.reto.infrastructure.out.persistence.ReadHedging;
 import com.guru.reto.infrastructure.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
-
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PagePublisher;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -27,12 +61,158 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class OrderAdapterTest {
 
+    private static final TableSchema<Order> ORDER_SCHEMA = TableSchema.fromBean(Order.class);
+
+    private static final List<String> INDEX_KEYS = List.of("orderId", "status", "orderDate");
+    private static final List<String> CUSTOMER_KEYS = List.of("orderId", "customerId", "orderDate");
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
     @Mock
     private DynamoDbAsyncTable<Order> orderTable;
 
-    @InjectMocks
+    @Mock
+    private DynamoDbAsyncIndex<Order> statusIndex;
+
+    @Mock
+    private DynamoDbAsyncIndex<Order> customerIndex;
+
+    @Mock
+    private OrderBatchReader orderBatchReader;
+
+    @Mock
+    private OrderBatchWriter orderBatchWriter;
+
+    @Mock
+    private OrderStatsCounters orderStatsCounters;
+
     private OrderAdapter orderAdapter;
 
+    @BeforeEach
+    void setUp() {
+        orderAdapter = new OrderAdapter(dynamoDbAsyncClient, orderTable, orderBatchReader, orderBatchWriter,
+                new OrderCache(false, 100, 60, 0),
+                new DynamoDbResilience(3, 1, 5, 0.1, 10, 20, 5000, new SimpleMeterRegistry()),
+                new ReadHedging(false, 0.95, 5, 0.05, 10, new SimpleMeterRegistry()), orderStatsCounters, 4, 2, false);
+    }
+
+    @Test
+    void findAll_ShouldFillPageAcrossQueryPages_AndReturnTokenOfLastItem() {
+
+        Order order1 = registered("1");
+        Order order2 = registered("2");
+        Order order3 = registered("3");
+        Page<Order> firstPage = Page.create(List.of(order1), ORDER_SCHEMA.itemToMap(order1, INDEX_KEYS));
+        Page<Order> secondPage = Page.create(List.of(order2, order3), ORDER_SCHEMA.itemToMap(order3, INDEX_KEYS));
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(orderTable.index(Constants.INDEX_STATUS)).thenReturn(statusIndex);
+        when(statusIndex.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(SdkPublisher.adapt(Flux.just(firstPage, secondPage)));
+
+        StepVerifier.create(orderAdapter.findAll(2, null))
+                .expectNextMatches(page ->
+                        page.items().equals(List.of(order1, order2)) &&
+                                PageToken.decode(page.next(), INDEX_KEYS).get("orderId").s().equals("2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_ShouldReturnNoToken_WhenIndexIsExhausted() {
+
+        Order order1 = registered("1");
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(orderTable.index(Constants.INDEX_STATUS)).thenReturn(statusIndex);
+        when(statusIndex.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(SdkPublisher.adapt(Flux.just(Page.create(List.of(order1)))));
+
+        StepVerifier.create(orderAdapter.findAll(10, null))
+                .expectNextMatches(page -> page.items().size() == 1 && page.next() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_ShouldReturnError_WhenTokenIsInvalid() {
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+
+        StepVerifier.create(orderAdapter.findAll(10, "no-es-un-token"))
+                .expectErrorMatches(err -> err instanceof IllegalArgumentException &&
+                        err.getMessage().equals(Constants.MSG_INVALID_TOKEN))
+                .verify();
+    }
+
+    @Test
+    void findByCustomer_ShouldQueryCustomerIndex_InRequestedOrder() {
+
+        Order order1 = registered("1").toBuilder().customerId("c-1").build();
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(orderTable.index(Constants.INDEX_CUSTOMER)).thenReturn(customerIndex);
+        when(customerIndex.query(any(QueryEnhancedRequest.class)))
+                .thenReturn(SdkPublisher.adapt(Flux.just(Page.create(List.of(order1)))));
+
+        StepVerifier.create(orderAdapter.findByCustomer(new CustomerOrdersQuery("c-1",
+                        LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"), true, 5, null)))
+                .expectNextMatches(page -> page.items().equals(List.of(order1)) && page.next() == null)
+                .verifyComplete();
+
+        ArgumentCaptor<QueryEnhancedRequest> captor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+        verify(customerIndex).query(captor.capture());
+        assertThat(captor.getValue().scanIndexForward()).isTrue();
+        assertThat(captor.getValue().limit()).isEqualTo(5);
+        assertThat(captor.getValue().attributesToProject()).doesNotContain("items");
+    }
+
+    @Test
+    void findByCustomer_ShouldRejectToken_OfAnotherCustomer() {
+
+        String token = PageToken.encode(ORDER_SCHEMA.itemToMap(
+                registered("1").toBuilder().customerId("c-2").build(), CUSTOMER_KEYS));
+
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+
+        StepVerifier.create(orderAdapter.findByCustomer(new CustomerOrdersQuery("c-1", null, null, false, 5, token)))
+                .expectErrorMatches(err -> err instanceof IllegalArgumentException &&
+                        err.getMessage().equals(Constants.MSG_INVALID_TOKEN))
+                .verify();
+    }
+
+    @Test
+    void scanAll_ShouldMergeEverySegment() {
+
+        when(orderTable.scan(any(ScanEnhancedRequest.class))).thenAnswer(invocation -> {
+            ScanEnhancedRequest request = invocation.getArgument(0);
+            Order order = registered("segment-" + request.segment() + "-of-" + request.totalSegments());
+            return PagePublisher.create(SdkPublisher.adapt(Flux.just(Page.create(List.of(order)))));
+        });
+
+        StepVerifier.create(orderAdapter.scanAll().map(Order::getOrderId).collectList())
+                .expectNextMatches(ids -> ids.size() == 4 &&
+                        ids.containsAll(List.of("segment-0-of-4", "segment-1-of-4", "segment-2-of-4", "segment-3-of-4")))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamAll_ShouldRequestQueryPagesOnDemand() {
+
+        AtomicInteger pagesRequested = new AtomicInteger();
+        Flux<Page<Order>> pages = Flux.range(1, 100)
+                .map(i -> Page.create(List.of(registered("a" + i), registered("b" + i))))
+                .doOnNext(page -> pagesRequested.incrementAndGet());
+
+        when(orderTable.index(Constants.INDEX_STATUS)).thenReturn(statusIndex);
+        when(statusIndex.query(any(QueryEnhancedRequest.class))).thenReturn(SdkPublisher.adapt(pages));
+
+        StepVerifier.create(orderAdapter.streamAll().take(3))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(pagesRequested.get()).isLessThanOrEqualTo(3);
+    }
+
     @Test
     void findId_ShouldReturnOrder_WhenFound() {
 
@@ -75,6 +255,8 @@ class OrderAdapterTest {
                         savedOrder.getOrderId().equals("new-id") &&
                                 savedOrder.getStatus().equals(Constants.STATUS_REGISTRATION))
                 .verifyComplete();
+
+        verify(orderStatsCounters).recordCreated(any(Order.class));
     }
 
     @Test
@@ -82,11 +264,42 @@ class OrderAdapterTest {
 
         Order order = Order.builder().orderId("new-id").build();
 
+        SdkClientException connectionError = SdkClientException.create("DB Error");
         when(orderTable.putItem(any(Order.class)))
-                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("DB Error")));
+                .thenReturn(CompletableFuture.failedFuture(connectionError));
 
         StepVerifier.create(orderAdapter.create(order))
-                .expectErrorMessage(Constants.MSG_ORDER_NOT_PROCESSED)
+                .expectErrorMatches(err -> err instanceof OrderStoreUnavailableException e
+                        && !e.isThrottled() && e.getCause() == connectionError)
+                .verify();
+    }
+
+    @Test
+    void create_ShouldRetryThrottling_UntilPutSucceeds() {
+
+        Order order = Order.builder().orderId("new-id").build();
+
+        when(orderTable.putItem(any(Order.class)))
+                .thenReturn(CompletableFuture.failedFuture(ProvisionedThroughputExceededException.builder().message("throttled").build()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        StepVerifier.create(orderAdapter.create(order))
+                .expectNextMatches(savedOrder -> savedOrder.getOrderId().equals("new-id"))
+                .verifyComplete();
+
+        verify(orderTable, times(2)).putItem(any(Order.class));
+    }
+
+    @Test
+    void create_ShouldReturnConflict_WhenIdAlreadyExists() {
+
+        Order order = Order.builder().orderId("new-id").build();
+
+        when(orderTable.putItem(any(Order.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().message("existe").build()));
+
+        StepVerifier.create(orderAdapter.create(order))
+                .expectError(OrderConflictException.class)
                 .verify();
     }
 
@@ -95,16 +308,61 @@ class OrderAdapterTest {
 
         Order orderToUpdate = Order.builder().orderId("404").customerId("Cliente B").build();
 
-        when(orderTable.getItem(any(Key.class)))
-                .thenReturn(CompletableFuture.completedFuture(null));
+        when(orderTable.tableName()).thenReturn("orders-table-test");
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().message("404").build()));
 
         StepVerifier.create(orderAdapter.update(orderToUpdate))
-                .expectErrorMessage(Constants.MSG_ORDER_NOT_PROCESSED)
+                .expectError(OrderNotFoundException.class)
                 .verify();
     }
 
     @Test
-    void update_ShouldMergeAndReturnOrder_WhenSuccessful() {
+    void update_ShouldReturnConflict_WithCurrentVersion_WhenVersionChanged() {
+
+        Order orderToUpdate = Order.builder().orderId("123").customerId("Cliente B").version(1L).build();
+        Order orderStored = Order.builder().orderId("123").customerId("Cliente C").version(3L).build();
+
+        when(orderTable.tableName()).thenReturn("orders-table-test");
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder()
+                        .message("version")
+                        .item(ORDER_SCHEMA.itemToMap(orderStored, true))
+                        .build()));
+
+        StepVerifier.create(orderAdapter.update(orderToUpdate))
+                .expectErrorMatches(err -> err instanceof OrderConflictException conflict
+                        && conflict.getCurrentVersion() == 3L)
+                .verify();
+
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbAsyncClient).updateItem(captor.capture());
+        assertThat(captor.getValue().conditionExpression()).isEqualTo("attribute_exists(#pk) AND #version = :expected");
+    }
+
+    @Test
+    void update_ShouldReturnStoredOrder_WhenSameUpdateWasAlreadyApplied() {
+
+        Order orderToUpdate = Order.builder().orderId("123").customerId("Cliente B").version(1L).build();
+        Order orderStored = orderToUpdate.toBuilder().address("Direccion").version(2L).build();
+
+        when(orderTable.tableName()).thenReturn("orders-table-test");
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder()
+                        .message("version")
+                        .item(ORDER_SCHEMA.itemToMap(orderStored, true))
+                        .build()));
+
+        StepVerifier.create(orderAdapter.update(orderToUpdate))
+                .expectNextMatches(order -> order.getVersion() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void update_ShouldSetOnlyChangedFields_AndReturnStoredOrder() {
 
         Order orderUpdateData = Order.builder()
                 .orderId("123")
@@ -112,22 +370,61 @@ class OrderAdapterTest {
                 .address("Direccion Nueva")
                 .build();
 
-        Order orderCurrentData = Order.builder()
-                .orderId("123")
-                .customerId("Cliente Antiguo")
-                .address("Direccion Antigua")
-                .version(1L)
+        Order orderStored = orderUpdateData.toBuilder()
+                .version(2L)
                 .status("REGISTRADO")
                 .build();
 
-        when(orderTable.getItem(any(Key.class)))
-                .thenReturn(CompletableFuture.completedFuture(orderCurrentData));
-
-        when(orderTable.updateItem(any(UpdateItemEnhancedRequest.class)))
-                .thenReturn(CompletableFuture.completedFuture(orderUpdateData));
+        when(orderTable.tableName()).thenReturn("orders-table-test");
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder()
+                        .attributes(ORDER_SCHEMA.itemToMap(orderStored, true))
+                        .build()));
 
         StepVerifier.create(orderAdapter.update(orderUpdateData))
-                .expectNext(orderUpdateData)
+                .expectNextMatches(order -> order.getVersion() == 2L && order.getStatus().equals("REGISTRADO"))
+                .verifyComplete();
+
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbAsyncClient).updateItem(captor.capture());
+        UpdateItemRequest request = captor.getValue();
+        assertThat(request.updateExpression()).endsWith("ADD #version :one");
+        assertThat(request.conditionExpression()).isEqualTo("attribute_exists(#pk)");
+        assertThat(request.expressionAttributeNames().values())
+                .containsExactlyInAnyOrder("customerId", "address", "orderUpdate", "orderId", "version");
+    }
+
+    @Test
+    void update_ShouldRecordStatusTransition_FromPreviousItem() {
+
+        Order previous = registered("123").toBuilder().customerId("Cliente").version(2L).build();
+        Order changes = Order.builder().orderId("123").status("ENTREGADO").build();
+
+        when(orderTable.tableName()).thenReturn("orders-table-test");
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder()
+                        .attributes(ORDER_SCHEMA.itemToMap(previous, true))
+                        .build()));
+
+        StepVerifier.create(orderAdapter.update(changes))
+                .expectNextMatches(order -> order.getVersion() == 3L
+                        && order.getStatus().equals("ENTREGADO")
+                        && order.getCustomerId().equals("Cliente"))
                 .verifyComplete();
+
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbAsyncClient).updateItem(captor.capture());
+        assertThat(captor.getValue().returnValues()).isEqualTo(ReturnValue.ALL_OLD);
+        verify(orderStatsCounters).recordStatusChange(Constants.STATUS_REGISTRATION, "ENTREGADO");
+    }
+
+    private static Order registered(String id) {
+        return Order.builder()
+                .orderId(id)
+                .status(Constants.STATUS_REGISTRATION)
+                .orderDate(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
     }
-}
\ No newline at end of file
+}
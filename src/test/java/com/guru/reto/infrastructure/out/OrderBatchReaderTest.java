@@ -0,0 +1,145 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria para las lecturas por lote (BatchGetItem).
+ * Verifica el particionado en lotes de 100 claves, el reintento de claves no procesadas
+ * y la agrupación de lecturas individuales concurrentes.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderBatchReaderTest {
+
+    private static final String TABLE = "orders-table-test";
+    private static final TableSchema<Order> ORDER_SCHEMA = TableSchema.fromBean(Order.class);
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Order> orderTable;
+
+    private OrderBatchReader orderBatchReader;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchReader = new OrderBatchReader(dynamoDbAsyncClient, orderTable, 20);
+        when(orderTable.tableName()).thenReturn(TABLE);
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+    }
+
+    @Test
+    void findIds_ShouldSplitInBatchesOf100_AndSkipDuplicates() {
+
+        List<String> ids = new ArrayList<>(IntStream.range(0, 150).mapToObj(i -> "id-" + i).toList());
+        ids.add("id-0");
+        when(dynamoDbAsyncClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(echo(invocation.getArgument(0))));
+
+        StepVerifier.create(orderBatchReader.findIds(ids).count())
+                .expectNext(150L)
+                .verifyComplete();
+
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbAsyncClient, times(2)).batchGetItem(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(request -> request.requestItems().get(TABLE).keys().size())
+                .containsExactlyInAnyOrder(100, 50);
+    }
+
+    @Test
+    void findIds_ShouldRetryUnprocessedKeys() {
+
+        Map<String, AttributeValue> pendingKey = Map.of("orderId", AttributeValue.fromS("id-2"));
+        BatchGetItemResponse partial = BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, List.of(item("id-1"))))
+                .unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(pendingKey).build()))
+                .build();
+        BatchGetItemResponse rest = BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, List.of(item("id-2"))))
+                .build();
+
+        when(dynamoDbAsyncClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(partial))
+                .thenReturn(CompletableFuture.completedFuture(rest));
+
+        StepVerifier.create(orderBatchReader.findIds(List.of("id-1", "id-2")).map(Order::getOrderId).collectList())
+                .expectNextMatches(found -> found.containsAll(List.of("id-1", "id-2")))
+                .verifyComplete();
+
+        verify(dynamoDbAsyncClient, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void load_ShouldCoalesceConcurrentReads_IntoOneBatch() {
+
+        when(dynamoDbAsyncClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> {
+                    BatchGetItemRequest request = invocation.getArgument(0);
+                    List<Map<String, AttributeValue>> found = request.requestItems().get(TABLE).keys().stream()
+                            .filter(key -> !key.get("orderId").s().equals("404"))
+                            .map(key -> item(key.get("orderId").s()))
+                            .toList();
+                    return CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                            .responses(Map.of(TABLE, found))
+                            .build());
+                });
+
+        StepVerifier.create(Flux.merge(
+                                orderBatchReader.load("a"),
+                                orderBatchReader.load("b"),
+                                orderBatchReader.load("a"),
+                                orderBatchReader.load("404"))
+                        .map(Order::getOrderId)
+                        .collectList())
+                .expectNextMatches(found -> found.size() == 3 && found.containsAll(List.of("a", "b")))
+                .verifyComplete();
+
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbAsyncClient, times(1)).batchGetItem(captor.capture());
+        assertThat(captor.getValue().requestItems().get(TABLE).keys()).hasSize(3);
+    }
+
+    /**
+     * Respuesta que devuelve una orden por cada clave pedida.
+     */
+    private static BatchGetItemResponse echo(BatchGetItemRequest request) {
+        return BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, request.requestItems().get(TABLE).keys().stream()
+                        .map(key -> item(key.get("orderId").s()))
+                        .toList()))
+                .build();
+    }
+
+    private static Map<String, AttributeValue> item(String id) {
+        return ORDER_SCHEMA.itemToMap(Order.builder().orderId(id).build(), true);
+    }
+}
@@ -0,0 +1,99 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderWriteResult;
+import com.guru.reto.infrastructure.out.persistence.OrderBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria para las escrituras por lote (BatchWriteItem).
+ * Verifica el particionado en lotes de 25 ítems y el reintento de ítems no procesados.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderBatchWriterTest {
+
+    private static final String TABLE = "orders-table-test";
+    private static final TableSchema<Order> ORDER_SCHEMA = TableSchema.fromBean(Order.class);
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Order> orderTable;
+
+    private OrderBatchWriter orderBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchWriter = new OrderBatchWriter(dynamoDbAsyncClient, orderTable, 2);
+        when(orderTable.tableName()).thenReturn(TABLE);
+        when(orderTable.tableSchema()).thenReturn(ORDER_SCHEMA);
+    }
+
+    @Test
+    void createAll_ShouldSplitInBatchesOf25_WithInitialVersion() {
+
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        StepVerifier.create(orderBatchWriter.createAll(orders(60)).filter(OrderWriteResult::isWritten).count())
+                .expectNext(60L)
+                .verifyComplete();
+
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbAsyncClient, times(3)).batchWriteItem(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(request -> request.requestItems().get(TABLE).size())
+                .containsExactlyInAnyOrder(25, 25, 10);
+        assertThat(captor.getValue().requestItems().get(TABLE).get(0).putRequest().item().get("version").n())
+                .isEqualTo("1");
+    }
+
+    @Test
+    void createAll_ShouldRetryUnprocessedItems() {
+
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenAnswer(invocation -> {
+                    BatchWriteItemRequest request = invocation.getArgument(0);
+                    List<WriteRequest> sent = request.requestItems().get(TABLE);
+                    return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                            .unprocessedItems(sent.size() > 1 ? Map.of(TABLE, sent.subList(1, 2)) : Map.of())
+                            .build());
+                });
+
+        StepVerifier.create(orderBatchWriter.createAll(orders(3)).filter(OrderWriteResult::isWritten).count())
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(dynamoDbAsyncClient, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    private static Flux<Order> orders(int count) {
+        return Flux.fromStream(IntStream.range(0, count)
+                .mapToObj(i -> Order.builder().orderId("id-" + i).status("REGISTRADO").build()));
+    }
+}
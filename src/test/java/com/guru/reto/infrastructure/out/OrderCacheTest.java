@@ -0,0 +1,95 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.infrastructure.out.persistence.OrderCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria para la caché de órdenes por ID.
+ * Verifica la carga única por ID, que una versión vieja no reemplace a una nueva
+ * y el registro de estadísticas y métricas.
+ */
+class OrderCacheTest {
+
+    private final OrderCache orderCache = new OrderCache(true, 100, 60, 0);
+
+    @Test
+    void get_ShouldLoadOnce_ForConcurrentMisses() {
+
+        AtomicInteger loads = new AtomicInteger();
+        Order order = Order.builder().orderId("1").version(1L).build();
+
+        StepVerifier.create(Flux.merge(
+                                orderCache.get("1", id -> slowLoad(loads, order)),
+                                orderCache.get("1", id -> slowLoad(loads, order)),
+                                orderCache.get("1", id -> slowLoad(loads, order)))
+                        .count())
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(orderCache.get("1", id -> slowLoad(loads, order)))
+                .expectNext(order)
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(orderCache.stats().hitCount()).isEqualTo(3);
+        assertThat(orderCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldNotCache_WhenOrderIsNotFound() {
+
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(orderCache.get("404", id -> Mono.fromRunnable(loads::incrementAndGet)))
+                .verifyComplete();
+        StepVerifier.create(orderCache.get("404", id -> Mono.fromRunnable(loads::incrementAndGet)))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void put_ShouldKeepNewerVersion() {
+
+        Order newer = Order.builder().orderId("1").version(3L).address("nueva").build();
+        Order older = Order.builder().orderId("1").version(2L).address("vieja").build();
+
+        orderCache.put(newer);
+        orderCache.put(older);
+
+        StepVerifier.create(orderCache.get("1", id -> Mono.error(new IllegalStateException("no debe cargar"))))
+                .expectNextMatches(order -> order.getAddress().equals("nueva"))
+                .verifyComplete();
+    }
+
+    @Test
+    void bindTo_ShouldPublishCacheMetrics() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        orderCache.bindTo(registry);
+
+        orderCache.get("1", id -> Mono.just(Order.builder().orderId("1").build())).block();
+        orderCache.get("1", id -> Mono.empty()).block();
+
+        assertThat(registry.get("cache.gets").tags("cache", "orders", "result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "orders", "result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private static Mono<Order> slowLoad(AtomicInteger loads, Order order) {
+        return Mono.delay(Duration.ofMillis(50))
+                .doOnNext(tick -> loads.incrementAndGet())
+                .thenReturn(order);
+    }
+}
@@ -0,0 +1,78 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.infrastructure.out.persistence.OrderItemsConverter;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Prueba unitaria del formato binario de Order.items.
+ * Verifica la ida y vuelta con y sin compresión, los precios que no caben en punto fijo,
+ * la lectura del formato anterior (lista de mapas) y el rechazo de versiones desconocidas.
+ */
+class OrderItemsConverterTest {
+
+    private final OrderItemsConverter converter = OrderItemsConverter.INSTANCE;
+
+    @Test
+    void transform_ShouldRoundTrip_SmallOrderWithoutCompression() {
+
+        List<OrderItem> items = List.of(
+                OrderItem.builder().productId("p-1").quantity(2).price(10.5).build(),
+                OrderItem.builder().productId("prodúcto-2").quantity(-1).price(0.99).build(),
+                OrderItem.builder().productId(null).quantity(0).price(1.0 / 3).build());
+
+        AttributeValue value = converter.transformFrom(items);
+
+        byte[] bytes = value.b().asByteArrayUnsafe();
+        assertThat(bytes[0]).isEqualTo((byte) 1);
+        assertThat(converter.transformTo(value)).isEqualTo(items);
+    }
+
+    @Test
+    void transform_ShouldCompress_LargeOrder() {
+
+        List<OrderItem> items = IntStream.range(0, 200)
+                .mapToObj(i -> OrderItem.builder().productId("producto-" + i).quantity(i % 7 + 1).price(19.99).build())
+                .toList();
+
+        AttributeValue value = converter.transformFrom(items);
+
+        byte[] bytes = value.b().asByteArrayUnsafe();
+        assertThat(bytes[0] & 0x80).isNotZero();
+        assertThat(bytes.length).isLessThan(200 * 10);
+        assertThat(converter.transformTo(value)).isEqualTo(items);
+    }
+
+    @Test
+    void transformTo_ShouldReadListLayout_WrittenByStaticSchema() {
+
+        Order order = Order.builder()
+                .orderId("order-1")
+                .items(List.of(OrderItem.builder().productId("p-1").quantity(3).price(4.25).build()))
+                .build();
+        AttributeValue legacy = OrderSchemas.ORDER.itemToMap(order, true).get("items");
+
+        assertThat(converter.transformTo(legacy)).isEqualTo(order.getItems());
+        assertThat(OrderSchemas.ORDER_COMPACT.mapToItem(OrderSchemas.ORDER.itemToMap(order, true)))
+                .usingRecursiveComparison()
+                .isEqualTo(order);
+    }
+
+    @Test
+    void transformTo_ShouldRejectUnknownVersion() {
+
+        AttributeValue value = AttributeValue.fromB(SdkBytes.fromByteArray(new byte[]{9, 0}));
+
+        assertThatThrownBy(() -> converter.transformTo(value)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
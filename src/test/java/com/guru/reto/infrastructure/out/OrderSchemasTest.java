@@ -0,0 +1,131 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderItem;
+import com.guru.reto.infrastructure.out.persistence.OrderSchemas;
+import com.guru.reto.infrastructure.util.Constants;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que los esquemas estáticos de OrderSchemas produzcan exactamente
+ * los mismos mapas de atributos y metadatos que el esquema por reflexión (@DynamoDbBean),
+ * y que con items en binario (compact) una orden grande ocupe menos.
+ */
+class OrderSchemasTest {
+
+    private static final TableSchema<Order> BEAN_SCHEMA = TableSchema.fromBean(Order.class);
+
+    @Test
+    void itemToMap_ShouldMatchBeanSchema() {
+
+        Order order = fullOrder();
+
+        assertThat(OrderSchemas.ORDER.itemToMap(order, true)).isEqualTo(BEAN_SCHEMA.itemToMap(order, true));
+        assertThat(OrderSchemas.ORDER.itemToMap(order, false)).isEqualTo(BEAN_SCHEMA.itemToMap(order, false));
+    }
+
+    @Test
+    void itemToMap_ShouldMatchBeanSchema_WhenFieldsAreNull() {
+
+        Order order = Order.builder().orderId("1").build();
+
+        assertThat(OrderSchemas.ORDER.itemToMap(order, true)).isEqualTo(BEAN_SCHEMA.itemToMap(order, true));
+        assertThat(OrderSchemas.ORDER.itemToMap(order, false)).isEqualTo(BEAN_SCHEMA.itemToMap(order, false));
+    }
+
+    @Test
+    void mapToItem_ShouldReadWhatBeanSchemaWrites() {
+
+        Map<String, AttributeValue> stored = BEAN_SCHEMA.itemToMap(fullOrder(), true);
+
+        Order order = OrderSchemas.ORDER.mapToItem(stored);
+
+        assertThat(BEAN_SCHEMA.itemToMap(order, true)).isEqualTo(stored);
+    }
+
+    @Test
+    void tableMetadata_ShouldMatchBeanSchema() {
+
+        assertThat(OrderSchemas.ORDER.tableMetadata().primaryKeys())
+                .containsExactlyElementsOf(BEAN_SCHEMA.tableMetadata().primaryKeys());
+        assertThat(OrderSchemas.ORDER.tableMetadata().indexKeys(Constants.INDEX_STATUS))
+                .containsExactlyInAnyOrderElementsOf(BEAN_SCHEMA.tableMetadata().indexKeys(Constants.INDEX_STATUS));
+        assertThat(OrderSchemas.ORDER.tableMetadata().indexKeys(Constants.INDEX_CUSTOMER))
+                .containsExactlyInAnyOrderElementsOf(BEAN_SCHEMA.tableMetadata().indexKeys(Constants.INDEX_CUSTOMER));
+        assertThat(OrderSchemas.ORDER.attributeNames())
+                .containsExactlyInAnyOrderElementsOf(BEAN_SCHEMA.attributeNames());
+    }
+
+    @Test
+    void compactSchema_ShouldStoreSmallerItems_ForLargeOrders() {
+
+        Order order = fullOrder().toBuilder()
+                .items(IntStream.range(0, 500)
+                        .mapToObj(i -> OrderItem.builder()
+                                .productId(String.format("SKU-%08d", i * 7919))
+                                .quantity(i % 4 + 1)
+                                .price((499 + i % 20 * 100) / 100.0)
+                                .build())
+                        .toList())
+                .build()
+                .computeTotals();
+
+        assertThat(itemSize(OrderSchemas.ORDER_COMPACT.itemToMap(order, true)))
+                .isLessThan(itemSize(OrderSchemas.ORDER.itemToMap(order, true)) / 4);
+    }
+
+    /**
+     * Tamaño del ítem según las reglas de DynamoDB: nombres y valores en bytes, números
+     * aproximados a (dígitos / 2 + 1) y 3 bytes más 1 por elemento en listas y mapas.
+     */
+    private static int itemSize(Map<String, AttributeValue> item) {
+        return item.entrySet().stream()
+                .mapToInt(e -> e.getKey().getBytes(StandardCharsets.UTF_8).length + valueSize(e.getValue()))
+                .sum();
+    }
+
+    private static int valueSize(AttributeValue value) {
+        if (value.s() != null) {
+            return value.s().getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value.n() != null) {
+            return value.n().length() / 2 + 1;
+        }
+        if (value.b() != null) {
+            return value.b().asByteArrayUnsafe().length;
+        }
+        if (value.hasL()) {
+            return 3 + value.l().stream().mapToInt(v -> 1 + valueSize(v)).sum();
+        }
+        if (value.hasM()) {
+            return 3 + value.m().size() + itemSize(value.m());
+        }
+        return 1;
+    }
+
+    private static Order fullOrder() {
+        return Order.builder()
+                .orderId("order-1")
+                .version(3L)
+                .customerId("Cliente")
+                .address("Calle 123")
+                .orderDate(Instant.parse("2025-01-01T10:00:00Z"))
+                .orderUpdate(Instant.parse("2025-01-02T10:00:00Z"))
+                .status(Constants.STATUS_REGISTRATION)
+                .items(List.of(
+                        OrderItem.builder().productId("p-1").quantity(2).price(10.5).build(),
+                        OrderItem.builder().productId("p-2").quantity(1).price(0.99).build()))
+                .build()
+                .computeTotals();
+    }
+}
@@ -0,0 +1,153 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.domain.Order;
+import com.guru.reto.domain.OrderStats;
+import com.guru.reto.infrastructure.out.persistence.DynamoDbResilience;
+import com.guru.reto.infrastructure.out.persistence.OrderStatsCounters;
+import com.guru.reto.infrastructure.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba unitaria de los contadores de GET /orders/stats.
+ * Verifica que los incrementos se acumulen en un ADD por contador, que un envío fallido o
+ * cancelado vuelva a quedar pendiente y que la lectura sume los shards.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStatsCountersTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderStatsCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new OrderStatsCounters(dynamoDbAsyncClient,
+                new DynamoDbResilience(3, 1, 5, 0.1, 10, 20, 5000, meterRegistry),
+                "orders-stats-test", 4, 0, meterRegistry);
+    }
+
+    @Test
+    void flush_ShouldSendOneAddPerCounter() {
+
+        counters.recordCreated(registered(1000));
+        counters.recordCreated(registered(250));
+        counters.recordStatusChange(Constants.STATUS_REGISTRATION, "ENTREGADO");
+
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder().build()));
+
+        StepVerifier.create(counters.flush()).verifyComplete();
+
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbAsyncClient, times(3)).updateItem(captor.capture());
+        Map<String, UpdateItemRequest> bySortKey = captor.getAllValues().stream()
+                .collect(Collectors.toMap(request -> request.key().get("sk").s(), request -> request));
+        assertThat(bySortKey.get(Constants.STATUS_REGISTRATION).expressionAttributeValues().get(":count").n()).isEqualTo("1");
+        assertThat(bySortKey.get("ENTREGADO").expressionAttributeValues().get(":count").n()).isEqualTo("1");
+        assertThat(bySortKey.get("2025-01-01").expressionAttributeValues().get(":count").n()).isEqualTo("2");
+        assertThat(bySortKey.get("2025-01-01").expressionAttributeValues().get(":amount").n()).isEqualTo("1250");
+        assertThat(bySortKey.get("2025-01-01").updateExpression()).startsWith("ADD ");
+        assertThat(bySortKey.get("2025-01-01").key().get("pk").s()).matches("day#[0-3]");
+        assertThat(meterRegistry.get(OrderStatsCounters.METER_PENDING).gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_ShouldKeepDelta_WhenUpdateFails() {
+
+        counters.recordStatusChange(null, Constants.STATUS_REGISTRATION);
+
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("sin conexion")))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder().build()));
+
+        StepVerifier.create(counters.flush()).verifyComplete();
+        assertThat(meterRegistry.get(OrderStatsCounters.METER_FLUSH_ERRORS).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(OrderStatsCounters.METER_PENDING).gauge().value()).isEqualTo(1);
+
+        StepVerifier.create(counters.flush()).verifyComplete();
+        verify(dynamoDbAsyncClient, times(2)).updateItem(any(UpdateItemRequest.class));
+        assertThat(meterRegistry.get(OrderStatsCounters.METER_PENDING).gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_ShouldKeepDelta_WhenCancelled() {
+
+        counters.recordStatusChange(null, Constants.STATUS_REGISTRATION);
+
+        when(dynamoDbAsyncClient.updateItem(any(UpdateItemRequest.class))).thenReturn(new CompletableFuture<>());
+
+        assertThatThrownBy(() -> counters.flush().block(Duration.ofMillis(50))).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(OrderStatsCounters.METER_PENDING).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void read_ShouldSumEveryShard() {
+
+        when(dynamoDbAsyncClient.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            QueryRequest request = invocation.getArgument(0);
+            String partition = request.expressionAttributeValues().get(":pk").s();
+            List<Map<String, AttributeValue>> items = partition.startsWith("status#")
+                    ? List.of(counter(partition, Constants.STATUS_REGISTRATION, 5, 0))
+                    : List.of(counter(partition, "2025-01-01", 2, 300), counter(partition, "2025-01-02", 1, 100));
+            return CompletableFuture.completedFuture(QueryResponse.builder().items(items).build());
+        });
+
+        StepVerifier.create(counters.read(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31")))
+                .assertNext(stats -> {
+                    assertThat(stats.byStatus()).containsExactly(Map.entry(Constants.STATUS_REGISTRATION, 20L));
+                    assertThat(stats.byDay()).containsExactly(
+                            Map.entry("2025-01-01", new OrderStats.Day(8, 1200)),
+                            Map.entry("2025-01-02", new OrderStats.Day(4, 400)));
+                })
+                .verifyComplete();
+
+        verify(dynamoDbAsyncClient, times(8)).query(any(QueryRequest.class));
+    }
+
+    private static Order registered(long totalAmount) {
+        return Order.builder()
+                .orderId("id-" + totalAmount)
+                .status(Constants.STATUS_REGISTRATION)
+                .orderDate(Instant.parse("2025-01-01T10:00:00Z"))
+                .totalAmount(totalAmount)
+                .build();
+    }
+
+    private static Map<String, AttributeValue> counter(String partition, String name, long count, long amount) {
+        return Map.of(
+                "pk", AttributeValue.fromS(partition),
+                "sk", AttributeValue.fromS(name),
+                "count", AttributeValue.fromN(Long.toString(count)),
+                "amount", AttributeValue.fromN(Long.toString(amount)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.guru.reto.infrastructure.out;
+
+import com.guru.reto.infrastructure.out.persistence.ReadHedging;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba unitaria de las lecturas de cobertura.
+ * Verifica que una lectura lenta se cubra con otra (y se cancele la original),
+ * que sin muestras suficientes no se cubra, que el presupuesto limite las coberturas
+ * y que las lecturas canceladas no alimenten el percentil.
+ */
+class ReadHedgingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void read_ShouldHedgeSlowRead_AndCancelTheOriginal() {
+
+        ReadHedging hedging = new ReadHedging(true, 0.95, 5, 0.05, 10, meterRegistry);
+        warmUp(hedging);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        StepVerifier.create(hedging.read(slowThenFast(cancelled)))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertThat(cancelled).isTrue();
+        assertThat(meterRegistry.get(ReadHedging.METER_FIRED).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ReadHedging.METER_WON).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void read_ShouldNotHedge_BeforeWarmUp() {
+
+        ReadHedging hedging = new ReadHedging(true, 0.95, 5, 0.05, 10, meterRegistry);
+
+        StepVerifier.create(hedging.read(slowThenFast(new AtomicBoolean())))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get(ReadHedging.METER_FIRED).counter().count()).isZero();
+    }
+
+    @Test
+    void read_ShouldStopHedging_WhenBudgetRunsOut() {
+
+        ReadHedging hedging = new ReadHedging(true, 0.95, 5, 0, 1, meterRegistry);
+        warmUp(hedging);
+
+        StepVerifier.create(hedging.read(slowThenFast(new AtomicBoolean()))).expectNext("hedge").verifyComplete();
+        StepVerifier.create(hedging.read(slowThenFast(new AtomicBoolean()))).expectNext("primary").verifyComplete();
+
+        assertThat(meterRegistry.get(ReadHedging.METER_FIRED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void read_ShouldNotRecordLatency_OfCancelledReads() {
+
+        ReadHedging hedging = new ReadHedging(true, 0.95, 5, 0.05, 10, meterRegistry);
+
+        for (int i = 0; i < 256; i++) {
+            StepVerifier.create(hedging.read(Mono::never)).thenCancel().verify();
+        }
+
+        assertThat(meterRegistry.get(ReadHedging.METER_DELAY).gauge().value()).isEqualTo(-1);
+    }
+
+    /**
+     * Lecturas instantáneas para que el umbral quede en el mínimo configurado.
+     */
+    private static void warmUp(ReadHedging hedging) {
+        for (int i = 0; i < 256; i++) {
+            hedging.read(() -> Mono.just("ok")).block();
+        }
+    }
+
+    /**
+     * La primera lectura tarda 300 ms; la segunda responde en el acto.
+     */
+    private static Supplier<Mono<String>> slowThenFast(AtomicBoolean cancelled) {
+        AtomicInteger calls = new AtomicInteger();
+        return () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenReturn("primary").doOnCancel(() -> cancelled.set(true))
+                : Mono.just("hedge");
+    }
+}
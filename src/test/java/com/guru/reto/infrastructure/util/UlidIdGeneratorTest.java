@@ -0,0 +1,83 @@
+package com.guru.reto.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Prueba unitaria del generador de IDs ULID.
+ * Verifica el formato, que el orden como texto siga al de creación,
+ * la fecha contenida en el ID, la unicidad con varios hilos y que no bloquee.
+ */
+class UlidIdGeneratorTest {
+
+    private final UlidIdGenerator generator = new UlidIdGenerator();
+
+    @Test
+    void generate_ShouldReturnCrockfordBase32_With26Chars() {
+
+        assertThat(generator.generate())
+                .hasSize(UlidIdGenerator.LENGTH)
+                .matches("[0-9A-HJKMNP-TV-Z]{26}");
+    }
+
+    @Test
+    void generate_ShouldSortByCreationTime() throws InterruptedException {
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(generator.generate());
+            Thread.sleep(2);
+        }
+
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void timestamp_ShouldReturnCreationInstant_AndMatchLowerBound() {
+
+        Instant before = Instant.ofEpochMilli(System.currentTimeMillis());
+        String id = generator.generate();
+        Instant after = Instant.ofEpochMilli(System.currentTimeMillis());
+
+        assertThat(UlidIdGenerator.timestamp(id)).isBetween(before, after);
+        assertThat(id).isGreaterThanOrEqualTo(UlidIdGenerator.lowerBound(before));
+        assertThat(id).isLessThan(UlidIdGenerator.lowerBound(after.plusMillis(1)));
+        assertThatThrownBy(() -> UlidIdGenerator.timestamp("not-an-id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Verifica que el generador no bloquee un hilo no bloqueante: solo la creación del SecureRandom
+     * del hilo lee la entropía del sistema (BlockHound está instalado en toda la JVM de pruebas).
+     */
+    @Test
+    void generate_ShouldNotBlock_OnNonBlockingThread() {
+
+        StepVerifier.create(Mono.fromCallable(() -> IntStream.range(0, 1_000).mapToObj(i -> generator.generate()).distinct().count())
+                        .subscribeOn(Schedulers.parallel()))
+                .expectNext(1_000L)
+                .verifyComplete();
+    }
+
+    @Test
+    void generate_ShouldBeUnique_AcrossThreads() {
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 40_000).parallel().forEach(i -> ids.add(generator.generate()));
+
+        assertThat(ids).hasSize(40_000);
+    }
+}